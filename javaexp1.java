@@ -1,7 +1,27 @@
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 // 1. Create a Student class with name and marks.
 class Student {
@@ -27,8 +47,850 @@ class Student {
     }
 }
 
+// 7. Columnar storage: the same data as primitive arrays instead of Student objects
+/**
+ * Column store for students: marks live in a double[] and names are
+ * dictionary-encoded into an int[] of codes. Filter, sort and project work on
+ * arrays of row numbers, so the scan touches only the columns it needs.
+ */
+class StudentTable {
+    private double[] marks = new double[16];
+    private int[] nameCodes = new int[16];
+    private int size;
+
+    // Dictionary encoding: each distinct name is stored once
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    static StudentTable of(List<Student> students) {
+        StudentTable table = new StudentTable();
+        for (Student s : students) {
+            table.add(s.getName(), s.getMarks());
+        }
+        return table;
+    }
+
+    void add(String name, double mark) {
+        if (size == marks.length) {
+            marks = Arrays.copyOf(marks, size * 2);
+            nameCodes = Arrays.copyOf(nameCodes, size * 2);
+        }
+        Integer code = codes.get(name);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(name);
+            codes.put(name, code);
+        }
+        marks[size] = mark;
+        nameCodes[size] = code;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Filter: returns the rows whose marks are strictly greater than the threshold, in row order.
+     */
+    int[] filterMarksAbove(double threshold) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (marks[row] > threshold) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Sort: orders the rows by marks ascending, in place. Ties keep their
+     * incoming order, just like Stream.sorted().
+     */
+    void sortByMarks(int[] rows) {
+        // Map each mark to a long that sorts the same way as Double.compare,
+        // so the sort loop compares primitives only.
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            long bits = Double.doubleToLongBits(marks[rows[i]]);
+            keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+        mergeSort(keys, rows);
+    }
+
+    /**
+     * Project: maps rows to student names by dictionary lookup.
+     */
+    List<String> projectNames(int[] rows) {
+        List<String> names = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            names.add(dictionary.get(nameCodes[row]));
+        }
+        return names;
+    }
+
+    /**
+     * Stable bottom-up merge sort of 'values' by 'keys'; both arrays are permuted together.
+     */
+    private static void mergeSort(long[] keys, int[] values) {
+        int n = keys.length;
+        long[] keyBuffer = new long[n];
+        int[] valueBuffer = new int[n];
+        long[] srcKeys = keys, dstKeys = keyBuffer;
+        int[] srcValues = values, dstValues = valueBuffer;
+
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int mid = Math.min(low + width, n);
+                int high = Math.min(low + 2 * width, n);
+                int i = low, j = mid, k = low;
+                while (i < mid && j < high) {
+                    if (srcKeys[j] < srcKeys[i]) {
+                        dstKeys[k] = srcKeys[j];
+                        dstValues[k++] = srcValues[j++];
+                    } else {
+                        dstKeys[k] = srcKeys[i];
+                        dstValues[k++] = srcValues[i++];
+                    }
+                }
+                while (i < mid) {
+                    dstKeys[k] = srcKeys[i];
+                    dstValues[k++] = srcValues[i++];
+                }
+                while (j < high) {
+                    dstKeys[k] = srcKeys[j];
+                    dstValues[k++] = srcValues[j++];
+                }
+            }
+            long[] swapKeys = srcKeys; srcKeys = dstKeys; dstKeys = swapKeys;
+            int[] swapValues = srcValues; srcValues = dstValues; dstValues = swapValues;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+}
+
+// 8. Top-K: keep only the best k students instead of sorting all of them
+/**
+ * Ranking helpers that avoid a full sort when only the first few results are needed.
+ * A min-heap of size k holds the best elements seen so far; its root is the
+ * weakest of them and is replaced whenever a better element arrives. That is
+ * O(n log k) time and O(k) memory.
+ *
+ * Ranking is best-first. Elements that compare equal keep their encounter
+ * order, exactly like sorted(order.reversed()).limit(k).
+ */
+class TopK {
+
+    /**
+     * Collector that returns the k greatest elements according to 'order', best first.
+     */
+    static <T> Collector<T, ?, List<T>> greatest(int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        return Collector.<T, BoundedHeap<T>, List<T>>of(
+            () -> new BoundedHeap<>(k, order),
+            BoundedHeap::offer,
+            BoundedHeap::merge,
+            BoundedHeap::toRankedList);
+    }
+
+    /**
+     * Fused filter + top-k: one pass over the list, comparing primitive marks only.
+     * The list is iterated, never indexed, so a LinkedList costs the same as an ArrayList.
+     * @return Names of the k highest-scoring students with marks above 'threshold', best first.
+     */
+    static List<String> topStudentNames(List<Student> students, double threshold, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        double[] heapMarks = new double[k];
+        long[] heapSequences = new long[k];
+        Student[] heapStudents = new Student[k];
+        int size = 0;
+        long sequence = 0;
+
+        for (Student student : students) {
+            double mark = student.getMarks();
+            if (!(mark > threshold)) {
+                continue;
+            }
+            long seq = sequence++;
+            if (size < k) {
+                // Sift up: the new element is weaker than its parent when marks are
+                // lower, or equal and it came later.
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (heapMarks[parent] < mark) break;
+                    heapMarks[i] = heapMarks[parent];
+                    heapSequences[i] = heapSequences[parent];
+                    heapStudents[i] = heapStudents[parent];
+                    i = parent;
+                }
+                heapMarks[i] = mark;
+                heapSequences[i] = seq;
+                heapStudents[i] = student;
+            } else if (k > 0 && mark > heapMarks[0]) {
+                siftDown(heapMarks, heapSequences, heapStudents, size, mark, seq, student);
+            }
+        }
+
+        // Drain weakest-first, filling the result from the back
+        String[] names = new String[size];
+        for (int n = size; n > 0; n--) {
+            names[n - 1] = heapStudents[0].getName();
+            siftDown(heapMarks, heapSequences, heapStudents, n - 1,
+                heapMarks[n - 1], heapSequences[n - 1], heapStudents[n - 1]);
+        }
+        return Arrays.asList(names);
+    }
+
+    /** Places (mark, sequence, student) at the root of a min-heap of 'size' elements and sifts it down. */
+    private static void siftDown(double[] heapMarks, long[] heapSequences, Student[] heapStudents, int size,
+                                 double mark, long sequence, Student student) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && weaker(heapMarks[child + 1], heapSequences[child + 1],
+                                           heapMarks[child], heapSequences[child])) {
+                child++;
+            }
+            if (!weaker(heapMarks[child], heapSequences[child], mark, sequence)) break;
+            heapMarks[i] = heapMarks[child];
+            heapSequences[i] = heapSequences[child];
+            heapStudents[i] = heapStudents[child];
+            i = child;
+        }
+        heapMarks[i] = mark;
+        heapSequences[i] = sequence;
+        heapStudents[i] = student;
+    }
+
+    private static boolean weaker(double markA, long sequenceA, double markB, long sequenceB) {
+        return markA < markB || (markA == markB && sequenceA > sequenceB);
+    }
+
+    /**
+     * Partial-order streaming: the passing students are heapified in O(n) and each
+     * element is then popped on demand in O(log n). The first results arrive
+     * without sorting the rest, and stopping early (e.g. with limit()) skips that work.
+     */
+    static Stream<Student> rankedByMarks(List<Student> students, double threshold) {
+        List<Student> passing = new ArrayList<>();
+        for (Student s : students) {
+            if (s.getMarks() > threshold) {
+                passing.add(s);
+            }
+        }
+        Iterator<Student> ranked = new HeapIterator(passing);
+        return StreamSupport.stream(
+            Spliterators.spliterator(ranked, passing.size(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Max-heap over the array positions of 'students'. Ties go to the lower
+     * position, so equal marks come out in encounter order.
+     */
+    private static class HeapIterator implements Iterator<Student> {
+        private final List<Student> students;
+        private final double[] marks;
+        private final int[] heap;
+        private int size;
+
+        HeapIterator(List<Student> students) {
+            this.students = students;
+            this.size = students.size();
+            this.marks = new double[size];
+            this.heap = new int[size];
+            for (int i = 0; i < size; i++) {
+                marks[i] = students.get(i).getMarks();
+                heap[i] = i;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                sink(i);
+            }
+        }
+
+        private boolean better(int a, int b) {
+            return marks[a] > marks[b] || (marks[a] == marks[b] && a < b);
+        }
+
+        private void sink(int i) {
+            int item = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && better(heap[child + 1], heap[child])) child++;
+                if (!better(heap[child], item)) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = item;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return size > 0;
+        }
+
+        @Override
+        public Student next() {
+            if (size == 0) {
+                throw new NoSuchElementException();
+            }
+            Student top = students.get(heap[0]);
+            heap[0] = heap[--size];
+            sink(0);
+            return top;
+        }
+    }
+
+    /**
+     * Accumulation state of the greatest() collector: an array min-heap of values
+     * with a parallel array of encounter sequences, so ties rank deterministically,
+     * including after merges of parallel partitions. An element that does not beat
+     * the current root is rejected with one comparison and no allocation.
+     */
+    private static class BoundedHeap<T> {
+        private final int k;
+        private final Comparator<? super T> order;
+        private final Object[] values;
+        private final long[] sequences;
+        private int size;
+        private long sequence;
+
+        BoundedHeap(int k, Comparator<? super T> order) {
+            this.k = k;
+            this.order = order;
+            this.values = new Object[k];
+            this.sequences = new long[k];
+        }
+
+        void offer(T value) {
+            add(value, sequence++);
+        }
+
+        private void add(T value, long seq) {
+            if (size < k) {
+                siftUp(size++, value, seq);
+            } else if (k > 0 && weaker(value(0), sequences[0], value, seq)) {
+                siftDown(0, size, value, seq);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private T value(int i) {
+            return (T) values[i];
+        }
+
+        private boolean weaker(T a, long sequenceA, T b, long sequenceB) {
+            int c = order.compare(a, b);
+            return c < 0 || (c == 0 && sequenceA > sequenceB);
+        }
+
+        private void siftUp(int i, T value, long seq) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!weaker(value, seq, value(parent), sequences[parent])) break;
+                values[i] = values[parent];
+                sequences[i] = sequences[parent];
+                i = parent;
+            }
+            values[i] = value;
+            sequences[i] = seq;
+        }
+
+        private void siftDown(int i, int n, T value, long seq) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= n) break;
+                if (child + 1 < n && weaker(value(child + 1), sequences[child + 1], value(child), sequences[child])) {
+                    child++;
+                }
+                if (!weaker(value(child), sequences[child], value, seq)) break;
+                values[i] = values[child];
+                sequences[i] = sequences[child];
+                i = child;
+            }
+            values[i] = value;
+            sequences[i] = seq;
+        }
+
+        BoundedHeap<T> merge(BoundedHeap<T> right) {
+            // Right-hand elements came later in encounter order
+            long offset = sequence;
+            for (int i = 0; i < right.size; i++) {
+                add(right.value(i), offset + right.sequences[i]);
+            }
+            sequence += right.sequence;
+            return this;
+        }
+
+        /** Drains the heap weakest-first into the back of the result. */
+        List<T> toRankedList() {
+            Object[] ranked = new Object[size];
+            for (int n = size; n > 0; n--) {
+                ranked[n - 1] = values[0];
+                siftDown(0, n - 1, value(n - 1), sequences[n - 1]);
+            }
+            size = 0;
+            @SuppressWarnings("unchecked")
+            List<T> result = (List<T>) Arrays.asList(ranked);
+            return result;
+        }
+    }
+}
+
+// 9. Parallel ranking on a dedicated, sized ForkJoinPool
+/**
+ * Runs the filter/sort/map ranking pipeline in parallel on its own pool, so
+ * the work neither competes with nor is limited by the common pool. The
+ * stream stages fork into the pool they are started from. The sort is an
+ * explicit fork/join merge sort rather than Arrays.parallelSort, which
+ * always uses the common pool and sizes its split on the common pool's
+ * parallelism.
+ */
+class ParallelRanking implements AutoCloseable {
+    private static final Comparator<Student> BY_MARKS = Comparator.comparingDouble(Student::getMarks);
+    private static final int MIN_SORT_CHUNK = 8192;
+
+    private final ForkJoinPool pool;
+
+    ParallelRanking(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * @return Names of students with marks above 'threshold', sorted by marks ascending.
+     */
+    List<String> rank(List<Student> students, double threshold) {
+        return pool.submit(() -> {
+            Student[] passing = students.parallelStream()
+                .filter(s -> s.getMarks() > threshold)
+                .toArray(Student[]::new);
+            // Runs in this pool because it is invoked from one of its workers
+            int chunk = Math.max(MIN_SORT_CHUNK, passing.length / (pool.getParallelism() * 4));
+            new MarksSort(passing, new Student[passing.length], 0, passing.length, chunk).invoke();
+            return Arrays.stream(passing)
+                .parallel()
+                .map(Student::getName)
+                .collect(Collectors.toList());
+        }).join();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /** Stable merge sort of a[lo, hi) by marks; halves are forked into the current pool. */
+    private static final class MarksSort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Student[] a;
+        private final Student[] buffer;
+        private final int lo;
+        private final int hi;
+        private final int chunk;
+
+        MarksSort(Student[] a, Student[] buffer, int lo, int hi, int chunk) {
+            this.a = a;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= chunk) {
+                Arrays.sort(a, lo, hi, BY_MARKS); // TimSort, also stable
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new MarksSort(a, buffer, lo, mid, chunk), new MarksSort(a, buffer, mid, hi, chunk));
+            if (Double.compare(a[mid - 1].getMarks(), a[mid].getMarks()) <= 0) {
+                return; // Halves already in order
+            }
+            System.arraycopy(a, lo, buffer, lo, mid - lo);
+            int i = lo, j = mid, k = lo;
+            while (i < mid && j < hi) {
+                // Ties take the left element, which keeps the sort stable
+                a[k++] = Double.compare(buffer[i].getMarks(), a[j].getMarks()) <= 0 ? buffer[i++] : a[j++];
+            }
+            System.arraycopy(buffer, i, a, k, mid - i);
+        }
+    }
+}
+
+// 10. Marks index: threshold and percentile queries in O(log n)
+/**
+ * Index over Student marks for repeated threshold and percentile queries,
+ * kept current as students are added. Students sit in a treap (a randomized
+ * balanced search tree) ordered by marks and then by insertion order, and
+ * every node records the size of its subtree. Adding a student, counting the
+ * students on one side of a threshold and finding a percentile are each
+ * O(log n) expected; listing k students costs O(log n + k).
+ *
+ * Comparisons follow the scan they replace: "above NaN" or "below NaN"
+ * matches nobody. The index is safe to share between threads: adds take a
+ * write lock, queries a read lock and never modify the tree.
+ */
+class MarksIndex {
+
+    private static final class Node {
+        final double marks;
+        final Student student;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Student student, int priority) {
+            this.marks = student.getMarks();
+            this.student = student;
+            this.priority = priority;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+    private long added;
+
+    static MarksIndex of(List<Student> students) {
+        MarksIndex index = new MarksIndex();
+        students.forEach(index::add);
+        return index;
+    }
+
+    void add(Student student) {
+        if (Double.isNaN(student.getMarks())) {
+            throw new IllegalArgumentException("Marks must be a number: " + student);
+        }
+        lock.writeLock().lock();
+        try {
+            Node node = new Node(student, priority(added++));
+            // Everything at or below the new mark goes left, so equal marks keep insertion order
+            Node[] parts = split(root, student.getMarks());
+            root = join(join(parts[0], node), parts[1]);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of students with marks strictly above the threshold. */
+    int countAbove(double threshold) {
+        if (Double.isNaN(threshold)) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            return size(root) - countAtMost(threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of students with marks strictly below the threshold. */
+    int countBelow(double threshold) {
+        if (Double.isNaN(threshold)) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            return countBelowLocked(threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of students with low <= marks <= high. */
+    int countBetween(double low, double high) {
+        if (Double.isNaN(low) || Double.isNaN(high)) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            return Math.max(0, countAtMost(high) - countBelowLocked(low));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Students with marks strictly above the threshold, sorted by marks ascending. */
+    List<Student> studentsAbove(double threshold) {
+        return studentsBetween(threshold, false, Double.POSITIVE_INFINITY, true);
+    }
+
+    /** Students with marks strictly below the threshold, sorted by marks ascending. */
+    List<Student> studentsBelow(double threshold) {
+        return studentsBetween(Double.NEGATIVE_INFINITY, true, threshold, false);
+    }
+
+    /** Students with low <= marks <= high, sorted by marks ascending. */
+    List<Student> studentsBetween(double low, double high) {
+        return studentsBetween(low, true, high, true);
+    }
+
+    /**
+     * Nearest-rank percentile: the smallest mark such that at least p% of the
+     * students scored at or below it.
+     * @param p Percentile in the range (0, 100].
+     */
+    double percentile(double p) {
+        if (!(p > 0 && p <= 100)) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]: " + p);
+        }
+        lock.readLock().lock();
+        try {
+            int n = size(root);
+            if (n == 0) {
+                throw new IllegalStateException("Percentile of an empty index.");
+            }
+            int rank = Math.max(1, (int) Math.ceil(p / 100.0 * n));
+            // Walk down to the rank-th smallest mark
+            Node node = root;
+            while (true) {
+                int leftSize = size(node.left);
+                if (rank <= leftSize) {
+                    node = node.left;
+                } else if (rank == leftSize + 1) {
+                    return node.marks;
+                } else {
+                    rank -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Student> studentsBetween(double low, boolean lowInclusive, double high, boolean highInclusive) {
+        List<Student> result = new ArrayList<>();
+        if (Double.isNaN(low) || Double.isNaN(high)) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            collect(root, low, lowInclusive, high, highInclusive, result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /** In-order walk that skips subtrees entirely outside [low, high]. */
+    private static void collect(Node node, double low, boolean lowInclusive, double high, boolean highInclusive,
+                                List<Student> out) {
+        while (node != null) {
+            boolean aboveLow = lowInclusive ? node.marks >= low : node.marks > low;
+            boolean belowHigh = highInclusive ? node.marks <= high : node.marks < high;
+            if (aboveLow) {
+                collect(node.left, low, lowInclusive, high, highInclusive, out);
+            }
+            if (aboveLow && belowHigh) {
+                out.add(node.student);
+            }
+            if (!belowHigh) {
+                return;
+            }
+            node = node.right;
+        }
+    }
+
+    /** Number of nodes with marks <= value. */
+    private int countAtMost(double value) {
+        int count = 0;
+        for (Node node = root; node != null; ) {
+            if (node.marks <= value) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private int countBelowLocked(double value) {
+        int count = 0;
+        for (Node node = root; node != null; ) {
+            if (node.marks < value) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /** Splits into (marks <= value, marks > value). */
+    private static Node[] split(Node node, double value) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (node.marks <= value) {
+            Node[] parts = split(node.right, value);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, value);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    /** Joins two treaps where every mark in 'a' orders before every mark in 'b'. */
+    private static Node join(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = join(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = join(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /** Deterministic pseudo-random priority (SplitMix64 finalizer), so runs are repeatable. */
+    private static int priority(long sequence) {
+        long z = (sequence + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+}
+
+// 11. Live ranking: kept current as marks change instead of being recomputed
+/**
+ * Ranking that is maintained incrementally as students are inserted, updated
+ * and removed. Students are identified by name.
+ *
+ * The ordering lives in a ConcurrentSkipListMap keyed by (marks, arrival
+ * sequence), so ties rank in arrival order. A ConcurrentHashMap records each
+ * student's current key. Writers only lock the hash bin of the student they
+ * change. Readers take no locks: views iterate the skip list and skip any
+ * entry that is no longer a student's current key, so during an update a
+ * student may briefly be missing from a view but never appears twice.
+ */
+class LiveRanking {
+
+    private static final class RankKey implements Comparable<RankKey> {
+        final double marks;
+        final long sequence;
+
+        RankKey(double marks, long sequence) {
+            this.marks = marks;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(RankKey other) {
+            int byMarks = Double.compare(marks, other.marks);
+            return byMarks != 0 ? byMarks : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final ConcurrentSkipListMap<RankKey, Student> ranking = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, RankKey> current = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** Inserts the student, or replaces the marks of the student with the same name. */
+    void upsert(Student student) {
+        current.compute(student.getName(), (name, oldKey) -> {
+            RankKey newKey = new RankKey(student.getMarks(), sequence.incrementAndGet());
+            ranking.put(newKey, student);
+            if (oldKey != null) {
+                ranking.remove(oldKey);
+            }
+            return newKey;
+        });
+    }
+
+    /** @return True if a student with this name was ranked. */
+    boolean remove(String name) {
+        boolean[] removed = new boolean[1];
+        current.computeIfPresent(name, (n, key) -> {
+            ranking.remove(key);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    int size() {
+        return current.size();
+    }
+
+    /** Students with marks strictly above the threshold, sorted by marks ascending. */
+    List<Student> above(double threshold) {
+        return collect(ranking.tailMap(new RankKey(threshold, Long.MAX_VALUE), false), Integer.MAX_VALUE);
+    }
+
+    /** The n highest-ranked students, best first. */
+    List<Student> top(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative: " + n);
+        }
+        return collect(ranking.descendingMap(), n);
+    }
+
+    private List<Student> collect(Map<RankKey, Student> view, int limit) {
+        List<Student> result = new ArrayList<>();
+        for (Map.Entry<RankKey, Student> entry : view.entrySet()) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (current.get(entry.getValue().getName()) == entry.getKey()) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+}
+
 public class Main{
     public static void main(String[] args) {
+        // Run "Main bench [students]" to time the pipelines on generated data instead
+        if (args.length > 0 && args[0].equals("bench")) {
+            runBenchmarks(args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000);
+            return;
+        }
+
         // 2. Use List<Student> to store data.
         List<Student> students = Arrays.asList(
             new Student("Alice", 85.5),
@@ -43,6 +905,13 @@ public class Main{
         students.forEach(s -> System.out.println(s));
         System.out.println("--------------------");
 
+        // Parallel mode: -Dranking.parallelism=N ranks once on an N-thread pool
+        int parallelism = Integer.getInteger("ranking.parallelism", 0);
+        if (parallelism > 0) {
+            printParallelRanking(students, parallelism);
+            return;
+        }
+
         // Stream Operations
         System.out.println("\n--- Students scoring above 75% (Sorted by Marks) ---");
 
@@ -74,5 +943,256 @@ public class Main{
             .sorted(Comparator.comparingDouble(Student::getMarks))
             .map(Student::getName) 
             .forEach(System.out::println);
+
+        // The same query over the columnar table
+        System.out.println("\n--- Columnar Table (filter/sort/project on arrays) ---");
+        StudentTable table = StudentTable.of(students);
+        int[] rows = table.filterMarksAbove(75.0);
+        table.sortByMarks(rows);
+        table.projectNames(rows).forEach(System.out::println);
+
+        // Only the best few: a bounded heap instead of a full sort
+        System.out.println("\n--- Top 3 Students above 75% (Top-K Collector) ---");
+        students.stream()
+            .filter(s -> s.getMarks() > 75.0)
+            .collect(TopK.greatest(3, Comparator.comparingDouble(Student::getMarks)))
+            .forEach(System.out::println);
+
+        // Repeated threshold queries against a prebuilt marks index
+        System.out.println("\n--- Marks Index Queries ---");
+        MarksIndex index = MarksIndex.of(students);
+        System.out.println("Above 75%: " + index.countAbove(75.0) + " " + index.studentsAbove(75.0));
+        System.out.println("Below 75%: " + index.countBelow(75.0));
+        System.out.println("Between 75% and 90%: " + index.studentsBetween(75.0, 90.0));
+        System.out.println("Median (50th percentile): " + index.percentile(50));
+        index.add(new Student("Grace", 88.0));
+        System.out.println("Above 75% after adding Grace: " + index.countAbove(75.0));
+
+        // Marks arriving as updates: the live ranking stays current without a re-sort
+        System.out.println("\n--- Live Ranking Updates ---");
+        LiveRanking live = new LiveRanking();
+        students.forEach(live::upsert);
+        live.upsert(new Student("Bob", 80.0));   // Bob's marks were re-evaluated
+        live.remove("Frank");                    // Frank withdrew
+        System.out.println("Above 75%: " + live.above(75.0));
+        System.out.println("Top 2: " + live.top(2));
+    }
+
+    /**
+     * Evaluates the ranking once in parallel; both displays print that single result.
+     */
+    static void printParallelRanking(List<Student> students, int parallelism) {
+        List<String> topStudents;
+        try (ParallelRanking ranking = new ParallelRanking(parallelism)) {
+            topStudents = ranking.rank(students, 75.0);
+        }
+
+        System.out.println("\n--- Students scoring above 75% (Parallel, " + parallelism + " threads) ---");
+        topStudents.forEach(System.out::println);
+        System.out.println("-----------------------------------------------------");
+
+        System.out.println("\n--- Alternative Display (same evaluation) ---");
+        StringBuilder display = new StringBuilder();
+        for (String name : topStudents) {
+            display.append(name).append(System.lineSeparator());
+        }
+        System.out.print(display);
+    }
+
+    /**
+     * Generates 'count' students with random marks. Names repeat, as they do
+     * in real class lists, so the dictionary stays small.
+     */
+    static List<Student> generateStudents(int count, long seed) {
+        Random random = new Random(seed);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(new Student("Student-" + random.nextInt(10_000), Math.round(random.nextDouble() * 10_000) / 100.0));
+        }
+        return students;
+    }
+
+    /**
+     * Times each ranking implementation and prints one JSON line per measurement.
+     * Every result is checked against the stream pipeline.
+     */
+    static void runBenchmarks(int count) {
+        List<Student> students = generateStudents(count, 42);
+        StudentTable table = StudentTable.of(students);
+
+        for (int round = 0; round < 5; round++) { // the first rounds warm up the JIT
+            long start = System.nanoTime();
+            List<String> streamResult = students.stream()
+                .filter(s -> s.getMarks() > 75.0)
+                .sorted(Comparator.comparingDouble(Student::getMarks))
+                .map(Student::getName)
+                .collect(Collectors.toList());
+            long streamNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int[] rows = table.filterMarksAbove(75.0);
+            table.sortByMarks(rows);
+            List<String> columnarResult = table.projectNames(rows);
+            long columnarNanos = System.nanoTime() - start;
+
+            if (!columnarResult.equals(streamResult)) {
+                throw new IllegalStateException("Columnar result differs from the stream pipeline.");
+            }
+            if (round == 4) {
+                printResult("ranking.stream", count, streamNanos);
+                printResult("ranking.columnar", count, columnarNanos);
+            }
+        }
+
+        int k = 10;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            List<String> sortedResult = students.stream()
+                .filter(s -> s.getMarks() > 75.0)
+                .sorted(Comparator.comparingDouble(Student::getMarks).reversed())
+                .limit(k)
+                .map(Student::getName)
+                .collect(Collectors.toList());
+            long sortedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<String> collectorResult = students.stream()
+                .filter(s -> s.getMarks() > 75.0)
+                .collect(TopK.greatest(k, Comparator.comparingDouble(Student::getMarks)))
+                .stream()
+                .map(Student::getName)
+                .collect(Collectors.toList());
+            long collectorNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<String> fusedResult = TopK.topStudentNames(students, 75.0, k);
+            long fusedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<String> streamedResult = TopK.rankedByMarks(students, 75.0)
+                .limit(k)
+                .map(Student::getName)
+                .collect(Collectors.toList());
+            long streamedNanos = System.nanoTime() - start;
+
+            if (!collectorResult.equals(sortedResult) || !fusedResult.equals(sortedResult)
+                    || !streamedResult.equals(sortedResult)) {
+                throw new IllegalStateException("Top-K result differs from sorted().limit().");
+            }
+            if (round == 4) {
+                printResult("topk.sorted", count, sortedNanos);
+                printResult("topk.collector", count, collectorNanos);
+                printResult("topk.fused", count, fusedNanos);
+                printResult("topk.heapStream", count, streamedNanos);
+            }
+        }
+
+        // Scaling: the same ranking on pools of 1, 2, 4, ... threads, ending at the core count
+        List<String> expected = students.stream()
+            .filter(s -> s.getMarks() > 75.0)
+            .sorted(Comparator.comparingDouble(Student::getMarks))
+            .map(Student::getName)
+            .collect(Collectors.toList());
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads = threads == cores ? cores + 1 : Math.min(threads * 2, cores)) {
+            try (ParallelRanking ranking = new ParallelRanking(threads)) {
+                long nanos = 0;
+                for (int round = 0; round < 5; round++) {
+                    long start = System.nanoTime();
+                    List<String> result = ranking.rank(students, 75.0);
+                    nanos = System.nanoTime() - start;
+                    if (!result.equals(expected)) {
+                        throw new IllegalStateException("Parallel ranking differs from the sequential pipeline.");
+                    }
+                }
+                printResult("parallel.threads" + threads, count, nanos);
+            }
+        }
+
+        // Threshold queries: full scan per query vs. an O(log n) walk of the index
+        MarksIndex index = MarksIndex.of(students);
+        int queries = 100;
+        long scanNanos = 0, indexNanos = 0;
+        for (int q = 0; q < queries; q++) {
+            double threshold = q;
+            long start = System.nanoTime();
+            long scanned = students.stream().filter(s -> s.getMarks() > threshold).count();
+            scanNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int indexed = index.countAbove(threshold);
+            indexNanos += System.nanoTime() - start;
+            if (scanned != indexed) {
+                throw new IllegalStateException("Index count differs from a scan at threshold " + threshold);
+            }
+        }
+        printResult("threshold.scan", count, scanNanos / queries);
+        printResult("threshold.index", count, indexNanos / queries);
+
+        // Interleaved adds and queries: each add is O(log n), with nothing rebuilt before the next query
+        int adds = 10_000;
+        Random random = new Random(5);
+        long start = System.nanoTime();
+        for (int i = 0; i < adds; i++) {
+            index.add(new Student("Late " + i, random.nextInt(10_001) / 100.0));
+            index.countAbove(75.0);
+        }
+        printResult("threshold.addThenQuery", count, (System.nanoTime() - start) / adds);
+        if (index.size() != students.size() + adds) {
+            throw new IllegalStateException("Index size " + index.size() + " after " + adds + " adds.");
+        }
+
+        benchmarkLiveRanking(students);
+    }
+
+    /**
+     * Two writer threads update random students while two readers repeatedly
+     * take the top 10, for one second. Prints the average time per operation.
+     */
+    static void benchmarkLiveRanking(List<Student> students) {
+        LiveRanking live = new LiveRanking();
+        students.forEach(live::upsert);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder writes = new LongAdder();
+        LongAdder reads = new LongAdder();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    Student s = students.get(random.nextInt(students.size()));
+                    live.upsert(new Student(s.getName(), random.nextInt(10_001) / 100.0));
+                    writes.increment();
+                }
+            }));
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    if (live.top(10).isEmpty()) {
+                        throw new IllegalStateException("Live ranking view was empty.");
+                    }
+                    reads.increment();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        try {
+            Thread.sleep(1000);
+            running.set(false);
+            for (Thread t : threads) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // Upserts reuse the generated names, so the ranking holds fewer entries than 'students'
+        printResult("live.upsert", live.size(), 2_000_000_000L / Math.max(1, writes.sum()));
+        printResult("live.top10", live.size(), 2_000_000_000L / Math.max(1, reads.sum()));
+    }
+
+    private static void printResult(String name, int students, long nanos) {
+        System.out.printf("{\"benchmark\":\"%s\",\"students\":%d,\"msPerOp\":%.3f}%n",
+            name, students, nanos / 1_000_000.0);
     }
 }
@@ -1,61 +1,232 @@
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Renders result rows with a column layout fixed up front. Rows are built in
+ * one StringBuilder and handed to System.out in 64 KB chunks, which is much
+ * cheaper than a printf per row when output goes to a file or pipe.
+ */
+class TableRenderer {
+
+    /** One cell of the layout: literal text before it and minimum width, padded on the right. */
+    static final class Column {
+        final String prefix;
+        final int width;
+
+        Column(String prefix, int width) {
+            this.prefix = prefix;
+            this.width = width;
+        }
+    }
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final String SPACES = "                                                  ";
+
+    private final Column[] columns;
+    private final String rowSuffix;
+    private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 256);
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private int column;
+
+    TableRenderer(String rowSuffix, Column... columns) {
+        this.rowSuffix = rowSuffix;
+        this.columns = columns;
+        // Same separators String.format would use for %,.2f in the default locale
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+    }
+
+    TableRenderer add(String value) {
+        int start = beginCell();
+        buffer.append(value);
+        return endCell(start);
+    }
+
+    TableRenderer add(long value) {
+        int start = beginCell();
+        buffer.append(value);
+        return endCell(start);
+    }
+
+    /** Appends the value as String.format("%,.2f") would. */
+    TableRenderer add(double value) {
+        int start = beginCell();
+        appendFixed2(value);
+        return endCell(start);
+    }
+
+    /** Completes the current row. */
+    void endRow() {
+        buffer.append(rowSuffix).append(System.lineSeparator());
+        column = 0;
+        if (buffer.length() >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands everything queued so far to System.out. Call it once the listing
+     * is complete, before printing through System.out again.
+     */
+    void flush() {
+        if (buffer.length() > 0) {
+            System.out.append(buffer);
+            buffer.setLength(0);
+        }
+        System.out.flush();
+    }
+
+    private int beginCell() {
+        buffer.append(columns[column].prefix);
+        return buffer.length();
+    }
+
+    private TableRenderer endCell(int start) {
+        Column c = columns[column++];
+        int padding = c.width - (buffer.length() - start);
+        while (padding > 0) {
+            int n = Math.min(padding, SPACES.length());
+            buffer.append(SPACES, 0, n);
+            padding -= n;
+        }
+        return this;
+    }
+
+    /**
+     * Appends the value with two decimals exactly as String.format("%,.2f")
+     * would. Formatter rounds the shortest decimal form of the double
+     * half-up, so cents are found by comparing against the doubles nearest to
+     * each decimal boundary. Very large and non-finite values go to String.format.
+     */
+    private void appendFixed2(double value) {
+        double a = Math.abs(value);
+        if (!(a < 1e12)) {
+            buffer.append(String.format("%,.2f", value));
+            return;
+        }
+        long cents = (long) (a * 100);
+        if ((cents + 1) / 100.0 <= a) {
+            cents++;
+        } else if (cents / 100.0 > a) {
+            cents--;
+        }
+        if (a >= (cents * 10 + 5) / 1000.0) {
+            cents++;
+        }
+
+        if (Double.doubleToRawLongBits(value) < 0) {
+            buffer.append('-');
+        }
+        long whole = cents / 100;
+        appendGrouped(whole);
+        long fraction = cents % 100;
+        buffer.append(decimalSeparator).append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+    }
+
+    private void appendGrouped(long whole) {
+        if (whole < 1000) {
+            buffer.append(whole);
+            return;
+        }
+        appendGrouped(whole / 1000);
+        long group = whole % 1000;
+        buffer.append(groupingSeparator)
+              .append((char) ('0' + group / 100))
+              .append((char) ('0' + group / 10 % 10))
+              .append((char) ('0' + group % 10));
+    }
+}
 
 /**
  * Java program demonstrating basic JDBC connectivity to a MySQL database
  * to read records from an 'Employee' table.
  * * IMPORTANT: Before running this program, you must:
  * 1. Ensure a MySQL server is running.
- * 2. Create a database (e.g., 'mydatabase') with an 'Employee' table 
- * (columns: EmpID, Name, Salary).
- * 3. Update the DB_URL, USER, and PASS constants below with your actual credentials.
+ * 2. Create a database (e.g., 'mydatabase'). The 'Employee' table
+ * (columns: EmpID, Name, Salary) is created on startup if it does not exist.
+ * 3. Update the DB_URL, USER, and PASS constants below with your actual credentials,
+ * or pass -Ddb.url, -Ddb.user and -Ddb.pass at launch.
  * 4. Have the MySQL JDBC Connector JAR file included in your project's classpath.
+ * 5. Without a MySQL server, run with -Ddb.mode=embedded and the H2 JAR on the
+ * classpath to use a local 'mydatabase' H2 file instead.
+ * 6. "Main seed [rows]" fills the table with generated employees for benchmarking.
  */
 public class Main {
 
     // --- JDBC Connection Parameters (MUST BE UPDATED) ---
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/mydatabase";
-    private static final String USER = "root";       // Your MySQL username
-    private static final String PASS = "password";   // Your MySQL password
+    private static final boolean EMBEDDED = "embedded".equalsIgnoreCase(System.getProperty("db.mode"));
+    private static final String DB_URL = System.getProperty("db.url",
+        EMBEDDED ? "jdbc:h2:./mydatabase;MODE=MySQL" : "jdbc:mysql://localhost:3306/mydatabase");
+    private static final String USER = System.getProperty("db.user", EMBEDDED ? "sa" : "root");       // Your MySQL username
+    private static final String PASS = System.getProperty("db.pass", EMBEDDED ? "" : "password");   // Your MySQL password
 
     // --- SQL Query ---
     private static final String SQL_SELECT = "SELECT EmpID, Name, Salary FROM Employee";
+    private static final String SQL_CREATE_TABLE =
+        "CREATE TABLE IF NOT EXISTS Employee (" +
+        "EmpID INT PRIMARY KEY AUTO_INCREMENT, " +
+        "Name VARCHAR(255) NOT NULL, " +
+        "Salary DECIMAL(12, 2) NOT NULL)";
+    private static final String SQL_INSERT = "INSERT INTO Employee (Name, Salary) VALUES (?, ?)";
+
+    // --- Row layout, equivalent to "%-10d %-20s $%,.2f" ---
+    private static final TableRenderer EMPLOYEE_ROWS = new TableRenderer("",
+        new TableRenderer.Column("", 10),
+        new TableRenderer.Column(" ", 20),
+        new TableRenderer.Column(" $", 0));
 
     public static void main(String[] args) {
         // Using try-with-resources ensures that the Connection, Statement, and ResultSet 
         // objects are automatically closed, preventing resource leaks.
         try (
             // 1. Establish the connection to the database
-            Connection conn = DriverManager.getConnection(DB_URL, USER, PASS);
-            
-            // 2. Create a Statement object for executing the SQL query
-            Statement stmt = conn.createStatement();
-            
-            // 3. Execute the SELECT query and get the ResultSet
-            ResultSet rs = stmt.executeQuery(SQL_SELECT);
+            Connection conn = DriverManager.getConnection(DB_URL, USER, PASS)
         ) {
-            
-            System.out.println("--- Employee Records Retrieved via JDBC ---");
-            System.out.println("-------------------------------------------");
-            System.out.printf("%-10s %-20s %-10s\n", "EmpID", "Name", "Salary");
-            System.out.println("-------------------------------------------");
-
-            // 4. Loop through the ResultSet to retrieve and display data
-            while (rs.next()) {
-                // Retrieve data by column name, matching the table schema
-                int id = rs.getInt("EmpID");
-                String name = rs.getString("Name");
-                // Using getDouble for currency representation
-                double salary = rs.getDouble("Salary");
-
-                // Display the results clearly in a formatted table
-                System.out.printf("%-10d %-20s $%,.2f\n", id, name, salary);
+            initializeTable(conn);
+
+            // "Main seed [rows]" fills the table instead of listing it
+            if (args.length > 0 && args[0].equals("seed")) {
+                int rows = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+                System.out.println("Seeded " + seedEmployees(conn, rows, 42) + " employee rows.");
+                return;
+            }
+
+            try (
+                // 2. Create a Statement object for executing the SQL query
+                Statement stmt = conn.createStatement();
+
+                // 3. Execute the SELECT query and get the ResultSet
+                ResultSet rs = stmt.executeQuery(SQL_SELECT);
+            ) {
+                System.out.println("--- Employee Records Retrieved via JDBC ---");
+                System.out.println("-------------------------------------------");
+                System.out.printf("%-10s %-20s %-10s\n", "EmpID", "Name", "Salary");
+                System.out.println("-------------------------------------------");
+
+                // 4. Loop through the ResultSet to retrieve and display data
+                while (rs.next()) {
+                    // Retrieve data by column name, matching the table schema
+                    int id = rs.getInt("EmpID");
+                    String name = rs.getString("Name");
+                    // Using getDouble for currency representation
+                    double salary = rs.getDouble("Salary");
+
+                    // Display the results clearly in a formatted table
+                    EMPLOYEE_ROWS.add(id).add(name).add(salary).endRow();
+                }
+                EMPLOYEE_ROWS.flush();
+
+                System.out.println("-------------------------------------------");
             }
-            
-            System.out.println("-------------------------------------------");
 
         } catch (SQLException e) {
             // Handle exceptions like connection failures or table/query errors
@@ -65,4 +236,43 @@ public class Main {
             // e.printStackTrace(); // Uncomment for full debugging stack trace
         }
     }
+
+    /**
+     * Creates the Employee table if it does not exist yet.
+     */
+    private static void initializeTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(SQL_CREATE_TABLE);
+        }
+    }
+
+    /**
+     * Inserts 'rows' generated employees in batches of 10,000, committing
+     * once per batch.
+     * @return The number of rows inserted.
+     */
+    private static int seedEmployees(Connection conn, int rows, long seed) throws SQLException {
+        Random random = new Random(seed);
+        int inserted = 0;
+        conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT)) {
+            for (int i = 1; i <= rows; i++) {
+                pstmt.setString(1, "Employee " + i);
+                pstmt.setDouble(2, (3_000_000 + random.nextInt(17_000_001)) / 100.0);
+                pstmt.addBatch();
+                if (i % 10_000 == 0 || i == rows) {
+                    for (int count : pstmt.executeBatch()) {
+                        inserted += count == PreparedStatement.SUCCESS_NO_INFO ? 1 : count;
+                    }
+                    conn.commit();
+                }
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        return inserted;
+    }
 }
@@ -1,34 +1,523 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.DecimalFormatSymbols;
 import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Writes table listings through System.out in large blocks. The column layout
+ * is built once; rows are formatted into one StringBuilder that goes out in
+ * 64 KB chunks rather than one printf call per row.
+ */
+class TableRenderer {
+
+    /** One cell of the layout: literal text before it and minimum width, padded on the right. */
+    static final class Column {
+        final String prefix;
+        final int width;
+
+        Column(String prefix, int width) {
+            this.prefix = prefix;
+            this.width = width;
+        }
+    }
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final String SPACES = "                                                  ";
+
+    private final Column[] columns;
+    private final String rowSuffix;
+    private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 256);
+    private final char decimalSeparator;
+    private int column;
+
+    TableRenderer(String rowSuffix, Column... columns) {
+        this.rowSuffix = rowSuffix;
+        this.columns = columns;
+        // Same separator String.format would use for %.2f in the default locale
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.decimalSeparator = symbols.getDecimalSeparator();
+    }
+
+    TableRenderer add(String value) {
+        int start = beginCell();
+        buffer.append(value);
+        return endCell(start);
+    }
+
+    TableRenderer add(long value) {
+        int start = beginCell();
+        buffer.append(value);
+        return endCell(start);
+    }
+
+    /** Appends the value as String.format("%.2f") would. */
+    TableRenderer add(double value) {
+        int start = beginCell();
+        appendFixed2(value);
+        return endCell(start);
+    }
+
+    /** Completes the current row. */
+    void endRow() {
+        buffer.append(rowSuffix).append(System.lineSeparator());
+        column = 0;
+        if (buffer.length() >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands everything queued so far to System.out. Call it once the listing
+     * is complete, before printing through System.out again.
+     */
+    void flush() {
+        if (buffer.length() > 0) {
+            System.out.append(buffer);
+            buffer.setLength(0);
+        }
+        System.out.flush();
+    }
+
+    private int beginCell() {
+        buffer.append(columns[column].prefix);
+        return buffer.length();
+    }
+
+    private TableRenderer endCell(int start) {
+        Column c = columns[column++];
+        int padding = c.width - (buffer.length() - start);
+        while (padding > 0) {
+            int n = Math.min(padding, SPACES.length());
+            buffer.append(SPACES, 0, n);
+            padding -= n;
+        }
+        return this;
+    }
+
+    /**
+     * Appends the value with two decimals exactly as String.format("%.2f")
+     * would. Formatter rounds the shortest decimal form of the double
+     * half-up, so cents are found by comparing against the doubles nearest to
+     * each decimal boundary. Very large and non-finite values go to String.format.
+     */
+    private void appendFixed2(double value) {
+        double a = Math.abs(value);
+        if (!(a < 1e12)) {
+            buffer.append(String.format("%.2f", value));
+            return;
+        }
+        long cents = (long) (a * 100);
+        if ((cents + 1) / 100.0 <= a) {
+            cents++;
+        } else if (cents / 100.0 > a) {
+            cents--;
+        }
+        if (a >= (cents * 10 + 5) / 1000.0) {
+            cents++;
+        }
+
+        if (Double.doubleToRawLongBits(value) < 0) {
+            buffer.append('-');
+        }
+        long whole = cents / 100;
+        buffer.append(whole);
+        long fraction = cents % 100;
+        buffer.append(decimalSeparator).append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+    }
+}
+
+/**
+ * Counters, timers and gauges for the Product operations. Recording only
+ * touches LongAdders, so it is cheap enough for every call; totals are
+ * summed when "Show Stats" runs or the dump file is written.
+ * With -Dmetrics.file=<path> the registry is also written to that file every
+ * metrics.intervalSec seconds (default 15) in Prometheus text format.
+ */
+class Metrics {
+
+    /** A monotonically increasing count. */
+    static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        void increment() {
+            value.increment();
+        }
+
+        void add(long amount) {
+            value.add(amount);
+        }
+
+        long get() {
+            return value.sum();
+        }
+    }
+
+    /** Count, total and maximum of recorded durations. */
+    static final class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+
+    private static final class Entry {
+        final String help;
+        final Object metric; // Counter, Timer or LongSupplier (gauge)
+
+        Entry(String help, Object metric) {
+            this.help = help;
+            this.metric = metric;
+        }
+    }
+
+    private static final Map<String, Entry> REGISTRY = new ConcurrentSkipListMap<>();
+
+    private Metrics() {
+    }
+
+    static Counter counter(String name, String help) {
+        return (Counter) REGISTRY.computeIfAbsent(name, n -> new Entry(help, new Counter())).metric;
+    }
+
+    static Timer timer(String name, String help) {
+        return (Timer) REGISTRY.computeIfAbsent(name, n -> new Entry(help, new Timer())).metric;
+    }
+
+    /** Registers a value read at display time, such as a queue depth. */
+    static void gauge(String name, String help, LongSupplier value) {
+        REGISTRY.put(name, new Entry(help, value));
+    }
+
+    /** @return Every metric in Prometheus text exposition format. Timers are summaries in seconds. */
+    static String toPrometheus() {
+        StringBuilder sb = new StringBuilder(1024);
+        for (Map.Entry<String, Entry> e : REGISTRY.entrySet()) {
+            String name = e.getKey();
+            Object metric = e.getValue().metric;
+            sb.append("# HELP ").append(name).append(' ').append(e.getValue().help).append('\n');
+            if (metric instanceof Counter) {
+                sb.append("# TYPE ").append(name).append(" counter\n");
+                sb.append(name).append(' ').append(((Counter) metric).get()).append('\n');
+            } else if (metric instanceof Timer) {
+                Timer t = (Timer) metric;
+                sb.append("# TYPE ").append(name).append(" summary\n");
+                sb.append(name).append("_count ").append(t.count.sum()).append('\n');
+                sb.append(name).append("_sum ").append(t.totalNanos.sum() / 1e9).append('\n');
+                sb.append("# TYPE ").append(name).append("_max gauge\n");
+                sb.append(name).append("_max ").append(t.maxNanos.get() / 1e9).append('\n');
+            } else {
+                sb.append("# TYPE ").append(name).append(" gauge\n");
+                sb.append(name).append(' ').append(((LongSupplier) metric).getAsLong()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Prints a readable summary, one metric per line. */
+    static void printSummary() {
+        for (Map.Entry<String, Entry> e : REGISTRY.entrySet()) {
+            Object metric = e.getValue().metric;
+            if (metric instanceof Timer) {
+                Timer t = (Timer) metric;
+                long count = t.count.sum();
+                System.out.printf("%-40s count=%d avg=%.3f ms max=%.3f ms%n", e.getKey(), count,
+                    count == 0 ? 0.0 : t.totalNanos.sum() / 1e6 / count, t.maxNanos.get() / 1e6);
+            } else {
+                long value = metric instanceof Counter ? ((Counter) metric).get() : ((LongSupplier) metric).getAsLong();
+                System.out.printf("%-40s %d%n", e.getKey(), value);
+            }
+        }
+    }
+
+    /**
+     * Starts the periodic dump if -Dmetrics.file is set. The file is written
+     * to a temporary name and renamed, so a scraper never reads half a file.
+     */
+    static void startFileDumpIfConfigured() {
+        String file = System.getProperty("metrics.file");
+        if (file == null) {
+            return;
+        }
+        Path target = Paths.get(file).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long interval = Long.getLong("metrics.intervalSec", 15);
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        Runnable dump = () -> {
+            try {
+                Files.write(temp, toPrometheus().getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                System.err.println("[Metrics] Could not write " + target + ": " + e.getMessage());
+            }
+        };
+        dumper.scheduleAtFixedRate(dump, interval, interval, TimeUnit.SECONDS);
+        // One last dump on exit, so short runs leave a file too
+        Runtime.getRuntime().addShutdownHook(new Thread(dump, "metrics-final-dump"));
+    }
+}
+
+/**
+ * A committed Product mutation. For a delete only the ID is set.
+ */
+class ProductChange {
+    enum Type { INSERT, UPDATE, DELETE }
+
+    final Type type;
+    final int productID;
+    final String productName;
+    final double price;
+    final int quantity;
+
+    ProductChange(Type type, int productID, String productName, double price, int quantity) {
+        this.type = type;
+        this.productID = productID;
+        this.productName = productName;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.DELETE ? "DELETE ProductID " + productID
+            : String.format("%s ProductID %d: %s, $%.2f, qty %d", type, productID, productName, price, quantity);
+    }
+}
+
+/**
+ * Lock-free, bounded feed of committed Product changes. A publisher claims the
+ * next ring slot by CAS; each subscriber drains the ring on its own thread
+ * through a private cursor. Slots are recycled only once every subscriber has
+ * passed them, so a full ring makes publishers wait rather than drop events.
+ * Publishing without subscribers is a no-op. An idle subscriber spins briefly,
+ * then parks until the next publish wakes it.
+ */
+class ChangeFeed<E> {
+
+    /** A subscriber's position in the feed. Closing it stops its thread and releases the ring. */
+    final class Subscription implements AutoCloseable {
+        private final AtomicLong cursor;
+        private final Consumer<? super E> handler;
+        private volatile boolean closed;
+        private volatile Thread thread;
+        // Set while the drain thread is parked without a timeout; publish() unparks it
+        private volatile boolean parked;
+
+        private Subscription(long start, Consumer<? super E> handler) {
+            this.cursor = new AtomicLong(start);
+            this.handler = handler;
+        }
+
+        private void drain() {
+            int idle = 0;
+            while (!closed) {
+                long seq = cursor.get();
+                int index = (int) (seq & mask);
+                if (sequences.get(index) != seq) {
+                    // Nothing published yet: spin briefly, then sleep until publish() or close() unparks
+                    if (++idle <= 100) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    parked = true;
+                    // Re-check after raising the flag: a publish in between either sees
+                    // the flag and unparks, or its sequence is visible here
+                    if (sequences.get(index) != seq && !closed) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                    continue;
+                }
+                idle = 0;
+                E event = slots.get(index);
+                cursor.lazySet(seq + 1);
+                try {
+                    handler.accept(event);
+                } catch (RuntimeException e) {
+                    System.err.println("ChangeFeed: Subscriber failed: " + e);
+                }
+            }
+        }
+
+        /** @return Events published but not yet taken by this subscriber. */
+        long lag() {
+            return claimed.get() - cursor.get();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread t = thread;
+            if (t != null && t != Thread.currentThread()) {
+                LockSupport.unpark(t);
+            }
+        }
+    }
+
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+    private final LongAdder backpressureWaits = new LongAdder();
+
+    /** @param capacity Ring size, rounded up to a power of two. */
+    ChangeFeed(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, -1);
+        }
+        this.mask = size - 1;
+    }
+
+    /** @return True if anyone is listening; callers can skip building events otherwise. */
+    boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Starts a daemon thread that hands each event published from now on to
+     * the handler, in publish order.
+     */
+    Subscription subscribe(String name, Consumer<? super E> handler) {
+        Subscription subscription = new Subscription(claimed.get(), handler);
+        subscribers.add(subscription);
+        Thread t = new Thread(subscription::drain, "change-feed-" + name);
+        t.setDaemon(true);
+        subscription.thread = t;
+        t.start();
+        return subscription;
+    }
+
+    /**
+     * Publishes a committed change. Waits while the ring is full, i.e. while
+     * the slowest subscriber is a whole ring behind.
+     */
+    void publish(E event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long seq;
+        boolean waited = false;
+        while (true) {
+            seq = claimed.get();
+            if (seq - slots.length() >= slowestCursor(seq)) {
+                if (!waited) {
+                    backpressureWaits.increment();
+                    waited = true;
+                }
+                LockSupport.parkNanos(10_000);
+                continue;
+            }
+            if (claimed.compareAndSet(seq, seq + 1)) {
+                break;
+            }
+        }
+        int index = (int) (seq & mask);
+        slots.set(index, event);
+        // Publishing the sequence last makes the event visible to subscribers. A full
+        // volatile write, so the parked flags read below cannot be read before it.
+        sequences.set(index, seq);
+        for (Subscription s : subscribers) {
+            if (s.parked) {
+                LockSupport.unpark(s.thread);
+            }
+        }
+    }
+
+    /** @return How many publishes had to wait for a slow subscriber. */
+    long backpressureWaits() {
+        return backpressureWaits.sum();
+    }
+
+    private long slowestCursor(long limit) {
+        long slowest = limit;
+        for (Subscription s : subscribers) {
+            slowest = Math.min(slowest, s.cursor.get());
+        }
+        return slowest;
+    }
+}
 
 /**
  * Menu-driven Java program for performing CRUD operations (Create, Read, Update, Delete)
  * on a MySQL 'Product' table, featuring explicit transaction handling.
  * * IMPORTANT SETUP NOTES:
  * 1. Ensure MySQL is running and you have a database (e.g., 'retail_db').
- * 2. Create the Product table:
+ * 2. The Product table is created on startup if it does not exist:
  * CREATE TABLE Product (
  * ProductID INT PRIMARY KEY AUTO_INCREMENT,
  * ProductName VARCHAR(255) NOT NULL,
  * Price DECIMAL(10, 2) NOT NULL,
  * Quantity INT NOT NULL
  * );
- * 3. Update the DB_URL, USER, and PASS constants below with your credentials.
+ * 3. Update the DB_URL, USER, and PASS constants below with your credentials,
+ *    or pass -Ddb.url, -Ddb.user and -Ddb.pass at launch.
  * 4. Include the MySQL JDBC Connector JAR in your classpath.
+ * 5. Without a MySQL server, run with -Ddb.mode=embedded and the H2 JAR on the
+ *    classpath to use a local 'retail_db' H2 file instead.
+ * 6. "Main seed [rows]" fills the table with generated products and
+ *    "Main bench [ops]" times the CRUD paths.
+ * 7. -Dchanges.log=true prints each committed change from the change feed.
+ * 8. -Dmetrics.file=product.prom writes the operation metrics to that file
+ *    periodically in Prometheus text format (see Metrics).
  */
 public class Main{
 
     // --- JDBC Connection Parameters (Update these!) ---
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/retail_db";
-    private static final String USER = "root";       // Your MySQL username
-    private static final String PASS = "password";   // Your MySQL password
+    private static final boolean EMBEDDED = "embedded".equalsIgnoreCase(System.getProperty("db.mode"));
+    private static final String DB_URL = System.getProperty("db.url",
+        EMBEDDED ? "jdbc:h2:./retail_db;MODE=MySQL" : "jdbc:mysql://localhost:3306/retail_db");
+    private static final String USER = System.getProperty("db.user", EMBEDDED ? "sa" : "root");       // Your MySQL username
+    private static final String PASS = System.getProperty("db.pass", EMBEDDED ? "" : "password");   // Your MySQL password
 
     // --- SQL Statements ---
+    private static final String SQL_CREATE_TABLE =
+        "CREATE TABLE IF NOT EXISTS Product (" +
+        "ProductID INT PRIMARY KEY AUTO_INCREMENT, " +
+        "ProductName VARCHAR(255) NOT NULL, " +
+        "Price DECIMAL(10, 2) NOT NULL, " +
+        "Quantity INT NOT NULL)";
     private static final String SQL_INSERT = 
         "INSERT INTO Product (ProductName, Price, Quantity) VALUES (?, ?, ?)";
     private static final String SQL_SELECT_ALL = 
@@ -38,33 +527,98 @@ public class Main{
     private static final String SQL_DELETE = 
         "DELETE FROM Product WHERE ProductID = ?";
 
+    // --- Row layout, equivalent to "%-10d | %-25s | $%-9.2f | %-10d" ---
+    private static final TableRenderer PRODUCT_ROWS = new TableRenderer("",
+        new TableRenderer.Column("", 10),
+        new TableRenderer.Column(" | ", 25),
+        new TableRenderer.Column(" | $", 9),
+        new TableRenderer.Column(" | ", 10));
+
+    // Committed changes, published only after connection.commit() succeeds
+    static final ChangeFeed<ProductChange> CHANGES = new ChangeFeed<>(Integer.getInteger("changes.capacity", 4096));
+
+    // --- Metrics ---
+    private static final Metrics.Timer CREATE_TIMER =
+        Metrics.timer("product_create_seconds", "Time to insert and commit one product.");
+    private static final Metrics.Timer READ_TIMER =
+        Metrics.timer("product_read_all_seconds", "Time to read and list every product.");
+    private static final Metrics.Timer UPDATE_TIMER =
+        Metrics.timer("product_update_seconds", "Time to update and commit one product.");
+    private static final Metrics.Timer DELETE_TIMER =
+        Metrics.timer("product_delete_seconds", "Time to delete and commit one product.");
+    private static final Metrics.Counter ROWS_READ =
+        Metrics.counter("product_rows_read_total", "Product rows read from the database.");
+    private static final Metrics.Counter COMMITS =
+        Metrics.counter("product_commits_total", "Transactions committed.");
+    private static final Metrics.Counter ROLLBACKS =
+        Metrics.counter("product_rollbacks_total", "Transactions rolled back.");
+    private static final Metrics.Counter ERRORS =
+        Metrics.counter("product_errors_total", "Operations that failed with an SQLException.");
+
+    // -Ddb.lazyConnect=true shows the menu first and connects on the first database operation
+    private static final boolean LAZY_CONNECT = Boolean.getBoolean("db.lazyConnect");
+    // -Dstartup.trace=true prints time-to-menu and time-to-first-query, measured from JVM start;
+    // a menu query that fails before that is reported as "queryFailed" instead
+    private static final boolean STARTUP_TRACE = Boolean.getBoolean("startup.trace");
+
     private static Connection connection = null;
+    private static boolean firstQueryTraced = false;
     private static final Scanner scanner = new Scanner(System.in);
 
     public static void main(String[] args) {
         
         try {
-            // 1. Establish the connection
-            connection = DriverManager.getConnection(DB_URL, USER, PASS);
-            
-            // 2. Disable auto-commit to enable manual transaction management
-            connection.setAutoCommit(false);
-            System.out.println("Database connection established. AutoCommit set to false.");
+            if (!LAZY_CONNECT) {
+                connection();
+            }
+
+            Metrics.gauge("product_connection_open", "1 while the database connection is open.",
+                () -> isConnectionOpen() ? 1 : 0);
+            Metrics.gauge("product_change_feed_backpressure_waits",
+                "Publishes that waited for a slow change-feed subscriber.", CHANGES::backpressureWaits);
+            Metrics.startFileDumpIfConfigured();
+
+            if (Boolean.getBoolean("changes.log")) {
+                CHANGES.subscribe("log", change -> System.err.println("[CHANGE] " + change));
+            }
+
+            // Non-interactive modes: "Main seed [rows]" fills the table, "Main bench [ops]" times the CRUD paths
+            if (args.length > 0 && (args[0].equals("seed") || args[0].equals("bench"))) {
+                int count = args.length > 1 ? Integer.parseInt(args[1]) : (args[0].equals("seed") ? 1_000_000 : 10_000);
+                if (args[0].equals("seed")) {
+                    System.out.println("Seeded " + seedProducts(count, 42) + " product rows.");
+                } else {
+                    runBenchmarks(count);
+                }
+                return;
+            }
 
             int choice = 0;
-            while (choice != 5) {
+            traceStartup("menu");
+            while (choice != 6) {
                 displayMenu();
                 try {
                     choice = scanner.nextInt();
                     scanner.nextLine(); // Consume newline
                     
+                    long errorsBefore = ERRORS.get();
                     switch (choice) {
                         case 1: createProduct(); break;
                         case 2: readAllProducts(); break;
                         case 3: updateProduct(); break;
                         case 4: deleteProduct(); break;
-                        case 5: System.out.println("Exiting application. Goodbye!"); break;
-                        default: System.out.println("Invalid choice. Please enter a number between 1 and 5.");
+                        case 5: showStats(); break;
+                        case 6: System.out.println("Exiting application. Goodbye!"); break;
+                        default: System.out.println("Invalid choice. Please enter a number between 1 and 6.");
+                    }
+                    if (choice >= 1 && choice <= 4 && !firstQueryTraced) {
+                        // Only a query that reached the database counts as the first one
+                        if (ERRORS.get() == errorsBefore) {
+                            firstQueryTraced = true;
+                            traceStartup("firstQuery");
+                        } else {
+                            traceStartup("queryFailed");
+                        }
                     }
                 } catch (InputMismatchException e) {
                     System.err.println("Invalid input. Please enter a number.");
@@ -89,7 +643,8 @@ public class Main{
         System.out.println("2. Read All Products");
         System.out.println("3. Update Product Details");
         System.out.println("4. Delete Product");
-        System.out.println("5. Exit");
+        System.out.println("5. Show Stats");
+        System.out.println("6. Exit");
         System.out.print("Enter your choice: ");
     }
 
@@ -104,22 +659,10 @@ public class Main{
             int quantity = scanner.nextInt();
             scanner.nextLine(); // Consume newline
 
-            try (PreparedStatement pstmt = connection.prepareStatement(SQL_INSERT)) {
-                pstmt.setString(1, name);
-                pstmt.setDouble(2, price);
-                pstmt.setInt(3, quantity);
-
-                int affectedRows = pstmt.executeUpdate();
-
-                if (affectedRows > 0) {
-                    // Transaction Success: Commit the change
-                    connection.commit();
-                    System.out.println("[SUCCESS] Product '" + name + "' created and transaction committed.");
-                } else {
-                    // If no rows were affected unexpectedly, rollback
-                    connection.rollback();
-                    System.out.println("[WARNING] Product creation failed. Transaction rolled back.");
-                }
+            if (insertProduct(name, price, quantity) >= 0) {
+                System.out.println("[SUCCESS] Product '" + name + "' created and transaction committed.");
+            } else {
+                System.out.println("[WARNING] Product creation failed. Transaction rolled back.");
             }
         } catch (SQLException e) {
             handleTransactionFailure(e, "Create Product");
@@ -131,9 +674,10 @@ public class Main{
 
     private static void readAllProducts() {
         System.out.println("\n--- All Products in Database ---");
+        long start = System.nanoTime();
         // Read operations do not require commit/rollback logic, as they don't modify data.
         try (
-            PreparedStatement pstmt = connection.prepareStatement(SQL_SELECT_ALL);
+            PreparedStatement pstmt = connection().prepareStatement(SQL_SELECT_ALL);
             ResultSet rs = pstmt.executeQuery()
         ) {
             if (!rs.isBeforeFirst()) {
@@ -151,15 +695,25 @@ public class Main{
                 double price = rs.getDouble("Price");
                 int quantity = rs.getInt("Quantity");
                 
-                System.out.printf("%-10d | %-25s | $%-9.2f | %-10d\n", id, name, price, quantity);
+                PRODUCT_ROWS.add(id).add(name).add(price).add(quantity).endRow();
+                ROWS_READ.increment();
             }
+            PRODUCT_ROWS.flush();
             System.out.println("---------------------------------------------------------------");
 
         } catch (SQLException e) {
+            ERRORS.increment();
             System.err.println("[ERROR] Failed to read products: " + e.getMessage());
+        } finally {
+            READ_TIMER.record(System.nanoTime() - start);
         }
     }
 
+    private static void showStats() {
+        System.out.println("\n--- Runtime Stats ---");
+        Metrics.printSummary();
+    }
+
     private static void updateProduct() {
         System.out.println("\n--- Update Product ---");
         try {
@@ -175,23 +729,10 @@ public class Main{
             int quantity = scanner.nextInt();
             scanner.nextLine(); // Consume newline
 
-            try (PreparedStatement pstmt = connection.prepareStatement(SQL_UPDATE)) {
-                pstmt.setString(1, name);
-                pstmt.setDouble(2, price);
-                pstmt.setInt(3, quantity);
-                pstmt.setInt(4, id);
-
-                int affectedRows = pstmt.executeUpdate();
-
-                if (affectedRows > 0) {
-                    // Transaction Success: Commit the change
-                    connection.commit();
-                    System.out.println("[SUCCESS] Product ID " + id + " updated and transaction committed.");
-                } else {
-                    // If ID was invalid or not found, no rows affected.
-                    connection.rollback();
-                    System.out.println("[WARNING] No product found with ID " + id + ". Transaction rolled back.");
-                }
+            if (updateProductRow(id, name, price, quantity)) {
+                System.out.println("[SUCCESS] Product ID " + id + " updated and transaction committed.");
+            } else {
+                System.out.println("[WARNING] No product found with ID " + id + ". Transaction rolled back.");
             }
         } catch (SQLException e) {
             handleTransactionFailure(e, "Update Product");
@@ -208,20 +749,10 @@ public class Main{
             int id = scanner.nextInt();
             scanner.nextLine(); // Consume newline
 
-            try (PreparedStatement pstmt = connection.prepareStatement(SQL_DELETE)) {
-                pstmt.setInt(1, id);
-
-                int affectedRows = pstmt.executeUpdate();
-
-                if (affectedRows > 0) {
-                    // Transaction Success: Commit the change
-                    connection.commit();
-                    System.out.println("[SUCCESS] Product ID " + id + " deleted and transaction committed.");
-                } else {
-                    // If ID was invalid or not found, no rows affected.
-                    connection.rollback();
-                    System.out.println("[WARNING] No product found with ID " + id + ". Transaction rolled back.");
-                }
+            if (deleteProductRow(id)) {
+                System.out.println("[SUCCESS] Product ID " + id + " deleted and transaction committed.");
+            } else {
+                System.out.println("[WARNING] No product found with ID " + id + ". Transaction rolled back.");
             }
         } catch (SQLException e) {
             handleTransactionFailure(e, "Delete Product");
@@ -231,14 +762,215 @@ public class Main{
         }
     }
     
+    /**
+     * Inserts one product as its own transaction.
+     * @return The new ProductID (0 if the driver returned no key), or -1 if
+     *         the insert was rolled back.
+     */
+    static int insertProduct(String name, double price, int quantity) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement pstmt = connection().prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, name);
+            pstmt.setDouble(2, price);
+            pstmt.setInt(3, quantity);
+            int affectedRows = pstmt.executeUpdate();
+            int id = 0;
+            if (affectedRows > 0) {
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        id = keys.getInt(1);
+                    }
+                }
+            }
+            if (!commitIfAffected(affectedRows)) {
+                return -1;
+            }
+            CHANGES.publish(new ProductChange(ProductChange.Type.INSERT, id, name, price, quantity));
+            return id;
+        } finally {
+            CREATE_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Updates one product as its own transaction.
+     * @return True if the row was found and the change committed.
+     */
+    static boolean updateProductRow(int id, String name, double price, int quantity) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement pstmt = connection().prepareStatement(SQL_UPDATE)) {
+            pstmt.setString(1, name);
+            pstmt.setDouble(2, price);
+            pstmt.setInt(3, quantity);
+            pstmt.setInt(4, id);
+            if (!commitIfAffected(pstmt.executeUpdate())) {
+                return false;
+            }
+            CHANGES.publish(new ProductChange(ProductChange.Type.UPDATE, id, name, price, quantity));
+            return true;
+        } finally {
+            UPDATE_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Deletes one product as its own transaction.
+     * @return True if the row was found and the delete committed.
+     */
+    static boolean deleteProductRow(int id) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement pstmt = connection().prepareStatement(SQL_DELETE)) {
+            pstmt.setInt(1, id);
+            if (!commitIfAffected(pstmt.executeUpdate())) {
+                return false;
+            }
+            CHANGES.publish(new ProductChange(ProductChange.Type.DELETE, id, null, 0, 0));
+            return true;
+        } finally {
+            DELETE_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    private static boolean commitIfAffected(int affectedRows) throws SQLException {
+        if (affectedRows > 0) {
+            // Transaction Success: Commit the change
+            connection.commit();
+            COMMITS.increment();
+            return true;
+        }
+        // If ID was invalid or not found, no rows affected.
+        connection.rollback();
+        ROLLBACKS.increment();
+        return false;
+    }
+
+    /**
+     * Returns the open connection, establishing it on first use. Opening the
+     * connection also disables auto-commit and runs the schema check, so a
+     * lazy start pays for both on the first database operation instead of
+     * before the menu appears.
+     */
+    static Connection connection() throws SQLException {
+        if (connection == null) {
+            Connection conn = DriverManager.getConnection(DB_URL, USER, PASS);
+            // Disable auto-commit to enable manual transaction management
+            conn.setAutoCommit(false);
+            connection = conn;
+            System.out.println("Database connection established. AutoCommit set to false.");
+            initializeTable();
+        }
+        return connection;
+    }
+
+    /**
+     * Creates the Product table if it does not exist yet.
+     */
+    private static void initializeTable() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(SQL_CREATE_TABLE);
+        }
+        connection.commit();
+    }
+
+    /**
+     * Seeds the Product table with generated rows for benchmarking, inserting
+     * in batches of 10,000 with one commit per batch. Seeded rows are not
+     * published to the change feed.
+     * @return The number of rows inserted.
+     */
+    static int seedProducts(int rows, long seed) throws SQLException {
+        Random random = new Random(seed);
+        int inserted = 0;
+        try (PreparedStatement pstmt = connection().prepareStatement(SQL_INSERT)) {
+            for (int i = 1; i <= rows; i++) {
+                pstmt.setString(1, "Product " + i);
+                pstmt.setDouble(2, (100 + random.nextInt(1_000_000)) / 100.0);
+                pstmt.setInt(3, random.nextInt(1_000));
+                pstmt.addBatch();
+                if (i % 10_000 == 0 || i == rows) {
+                    for (int count : pstmt.executeBatch()) {
+                        inserted += count == PreparedStatement.SUCCESS_NO_INFO ? 1 : count;
+                    }
+                    connection.commit();
+                }
+            }
+        } catch (SQLException e) {
+            handleTransactionFailure(e, "Seed Products");
+        }
+        return inserted;
+    }
+
+    /**
+     * Times each CRUD path 'ops' times, one transaction per operation, and
+     * prints one JSON line per path. Update and delete only touch the rows
+     * inserted here, by the IDs those inserts returned, and those rows are
+     * deleted again.
+     */
+    private static void runBenchmarks(int ops) throws SQLException {
+        int[] ids = new int[ops];
+        int created = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            int id = insertProduct("Bench Product " + i, 9.99, i % 100);
+            if (id > 0) {
+                ids[created++] = id;
+            }
+        }
+        printResult("product.insert", ops, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        int rows = scanAllProducts();
+        printResult("product.selectAll", rows, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < created; i++) {
+            updateProductRow(ids[i], "Bench Product", 19.99, 1);
+        }
+        printResult("product.update", created, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < created; i++) {
+            deleteProductRow(ids[i]);
+        }
+        printResult("product.delete", created, System.nanoTime() - start);
+    }
+
+    /**
+     * Reads every column of every product without printing, i.e. the query
+     * and fetch cost of readAllProducts().
+     * @return The number of rows read.
+     */
+    static int scanAllProducts() throws SQLException {
+        int rows = 0;
+        try (PreparedStatement pstmt = connection().prepareStatement(SQL_SELECT_ALL);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                rs.getInt("ProductID");
+                rs.getString("ProductName");
+                rs.getDouble("Price");
+                rs.getInt("Quantity");
+                rows++;
+            }
+        }
+        connection.commit();
+        return rows;
+    }
+
+    private static void printResult(String name, int ops, long nanos) {
+        System.out.printf("{\"benchmark\":\"%s\",\"ops\":%d,\"usPerOp\":%.2f}%n",
+            name, ops, nanos / 1000.0 / Math.max(1, ops));
+    }
+
     /**
      * Helper method to handle database errors and execute a rollback.
      */
     private static void handleTransactionFailure(SQLException e, String operationName) {
         System.err.println("[ERROR] " + operationName + " failed: " + e.getMessage());
+        ERRORS.increment();
         try {
             if (connection != null) {
                 connection.rollback();
+                ROLLBACKS.increment();
                 System.out.println("[TRANSACTION] Rollback successful due to error.");
             }
         } catch (SQLException rollbackEx) {
@@ -246,10 +978,25 @@ public class Main{
         }
     }
 
+    private static void traceStartup(String event) {
+        if (STARTUP_TRACE) {
+            System.err.printf("{\"startup\":\"%s\",\"ms\":%d}%n",
+                event, ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+    }
+
+    private static boolean isConnectionOpen() {
+        try {
+            return connection != null && !connection.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
     /**
      * Safely closes the database connection.
      */
-    private static void closeConnection() {
+    static void closeConnection() {
         if (connection != null) {
             try {
                 connection.close();
@@ -1,197 +1,2332 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
 
 // --- JDBC Configuration (Update these!) ---
+// Each value can also be set at launch with -Ddb.url, -Ddb.user and -Ddb.pass.
+// -Ddb.mode=embedded uses a local H2 database file instead of a MySQL server
+// (put the H2 JAR on the classpath); the schema is created on first use.
+// -Ddb.replicas=url1,url2,... sends reads to those replicas (see ReplicaRouter).
+// -Dstudent.writeBehind=true journals writes locally and applies them in the
+// background (see StudentWriteBehind); -Dstudent.journal sets the journal file.
 class DbConfig {
-    static final String DB_URL = "jdbc:mysql://localhost:3306/university_db";
-    static final String USER = "root";       // Your MySQL username
-    static final String PASS = "password";   // Your MySQL password
+    static final boolean EMBEDDED = "embedded".equalsIgnoreCase(System.getProperty("db.mode"));
+    static final String DB_URL = System.getProperty("db.url",
+        EMBEDDED ? "jdbc:h2:./university_db;MODE=MySQL" : "jdbc:mysql://localhost:3306/university_db");
+    static final String USER = System.getProperty("db.user", EMBEDDED ? "sa" : "root");       // Your MySQL username
+    static final String PASS = System.getProperty("db.pass", EMBEDDED ? "" : "password");   // Your MySQL password
+
+    // --- Read replicas (optional) ---
+    static final String[] REPLICA_URLS = splitUrls(System.getProperty("db.replicas", ""));
+    static final boolean LEAST_LOADED = "least-loaded".equalsIgnoreCase(System.getProperty("db.replicaPolicy"));
+    static final long READ_YOUR_WRITES_MS = Long.getLong("db.readYourWritesMs", 1000);
+    static final long HEALTH_CHECK_MS = Long.getLong("db.healthCheckMs", 5000);
+    static final long SLOW_REPLICA_MS = Long.getLong("db.slowReplicaMs", 200);
+    static final long EVICTION_MS = Long.getLong("db.evictionMs", 30_000);
+
+    // --- Write-behind (optional) ---
+    static final boolean WRITE_BEHIND = Boolean.getBoolean("student.writeBehind");
+    static final String JOURNAL_FILE = System.getProperty("student.journal", "student-writes.journal");
+
+    static Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(DB_URL, USER, PASS);
+    }
+
+    static Connection getConnection(String url) throws SQLException {
+        return DriverManager.getConnection(url, USER, PASS);
+    }
+
+    private static String[] splitUrls(String urls) {
+        List<String> list = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            if (!url.trim().isEmpty()) {
+                list.add(url.trim());
+            }
+        }
+        return list.toArray(new String[0]);
+    }
+}
+
+
+// ====================================================================
+// 1a. DATA SOURCE: ReplicaRouter Class (Read Routing)
+// ====================================================================
+/**
+ * Picks the connection a read should use. Writes always go to the primary;
+ * reads go to a replica, round-robin or to the least-loaded one, except for a
+ * short window after a write, when they also stay on the primary so a caller
+ * sees its own changes despite replication lag.
+ *
+ * Replica health is checked off the read path: a daemon thread opens each
+ * replica's connection and pings it with isValid() every health-check
+ * interval, so a slow replica delays the checker, not a user's read. Until
+ * the first check has passed, reads use the primary. A replica that fails a
+ * read or a ping, or answers slower than the slow threshold, is evicted for
+ * the eviction period and then reconnected from scratch.
+ *
+ * acquire() returns a Lease holding the exact connection it handed out. An
+ * evicted connection is swapped out atomically and only closed once no read
+ * on that replica is in flight, so a read never sees its connection vanish.
+ * To try this locally, point several replica URLs at the same embedded H2
+ * database, e.g. -Ddb.mode=embedded -Ddb.replicas=jdbc:h2:./university_db;MODE=MySQL,...
+ */
+class ReplicaRouter {
+
+    /** One replica: its current connection (null while down) and health state. */
+    static final class Replica {
+        final String url;
+        final AtomicReference<Connection> connection = new AtomicReference<>();
+        // Swapped-out connections, closed once inFlight drops to 0
+        final ConcurrentLinkedQueue<Connection> retired = new ConcurrentLinkedQueue<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile long averageNanos;
+        // Compared by difference, so it starts at "now" rather than 0 (nanoTime may be negative)
+        volatile long evictedUntilNanos = System.nanoTime();
+
+        Replica(String url) {
+            this.url = url;
+        }
+    }
+
+    /** A replica connection handed to one read; give it back with release(). */
+    static final class Lease {
+        final Replica replica;
+        final Connection connection;
+
+        Lease(Replica replica, Connection connection) {
+            this.replica = replica;
+            this.connection = connection;
+        }
+    }
+
+    private final Replica[] replicas;
+    private final boolean leastLoaded;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker;
+    private volatile long lastWriteNanos;
+    private volatile boolean written;
+
+    ReplicaRouter(String[] urls, boolean leastLoaded) {
+        this.replicas = new Replica[urls.length];
+        for (int i = 0; i < urls.length; i++) {
+            replicas[i] = new Replica(urls[i]);
+        }
+        this.leastLoaded = leastLoaded;
+        this.checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        checker.scheduleWithFixedDelay(this::checkAll, 0, DbConfig.HEALTH_CHECK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Marks that the primary was just written, starting the read-your-writes window. */
+    void recordWrite() {
+        lastWriteNanos = System.nanoTime();
+        written = true;
+    }
+
+    /**
+     * @return A lease on a healthy replica's connection, with its in-flight
+     *         count taken, or null if the read should go to the primary.
+     */
+    Lease acquire() {
+        long now = System.nanoTime();
+        if (written && now - lastWriteNanos < TimeUnit.MILLISECONDS.toNanos(DbConfig.READ_YOUR_WRITES_MS)) {
+            return null;
+        }
+        int start = leastLoaded ? 0 : Math.floorMod(next.getAndIncrement(), replicas.length);
+        for (int attempt = 0; attempt < replicas.length; attempt++) {
+            Replica best = null;
+            for (int i = 0; i < replicas.length; i++) {
+                Replica r = replicas[(start + i) % replicas.length];
+                if (now - r.evictedUntilNanos < 0 || r.connection.get() == null) {
+                    continue;
+                }
+                if (!leastLoaded) {
+                    best = r;
+                    break;
+                }
+                if (best == null || r.inFlight.get() < best.inFlight.get()
+                    || (r.inFlight.get() == best.inFlight.get() && r.averageNanos < best.averageNanos)) {
+                    best = r;
+                }
+            }
+            if (best == null) {
+                return null;
+            }
+            // Count the read first, then read the connection: an evict() that swapped it out
+            // either happened before (we see null and move on) or sees this read and defers the close
+            best.inFlight.incrementAndGet();
+            Connection conn = best.connection.get();
+            if (conn != null) {
+                return new Lease(best, conn);
+            }
+            best.inFlight.decrementAndGet();
+            closeRetired(best);
+            start++;
+        }
+        return null;
+    }
+
+    /**
+     * Returns a lease taken by acquire(). A failed read evicts the replica;
+     * otherwise the read time feeds its moving average, used by the
+     * least-loaded policy.
+     */
+    void release(Lease lease, long elapsedNanos, boolean failed) {
+        Replica replica = lease.replica;
+        if (failed) {
+            evict(replica, lease.connection);
+        } else {
+            long average = replica.averageNanos;
+            replica.averageNanos = average == 0 ? elapsedNanos : average + (elapsedNanos - average) / 8;
+        }
+        replica.inFlight.decrementAndGet();
+        closeRetired(replica);
+    }
+
+    /** Stops the health checker and closes every replica connection that was opened. */
+    void close() {
+        checker.shutdownNow();
+        for (Replica r : replicas) {
+            Connection conn = r.connection.getAndSet(null);
+            if (conn != null) {
+                r.retired.add(conn);
+            }
+            for (Connection c; (c = r.retired.poll()) != null; ) {
+                closeQuietly(c);
+            }
+        }
+    }
+
+    /** Runs on the checker thread: reconnects replicas whose eviction is over and pings the rest. */
+    private void checkAll() {
+        for (Replica r : replicas) {
+            if (System.nanoTime() - r.evictedUntilNanos < 0) {
+                continue;
+            }
+            Connection conn = r.connection.get();
+            long start = System.nanoTime();
+            try {
+                if (conn == null) {
+                    Connection opened = DbConfig.getConnection(r.url);
+                    opened.setReadOnly(true);
+                    if (!r.connection.compareAndSet(null, opened)) {
+                        closeQuietly(opened);
+                        continue;
+                    }
+                    conn = opened;
+                }
+                int timeoutSeconds = (int) Math.max(1, (DbConfig.SLOW_REPLICA_MS + 999) / 1000);
+                boolean valid = conn.isValid(timeoutSeconds);
+                if (valid && System.nanoTime() - start <= TimeUnit.MILLISECONDS.toNanos(DbConfig.SLOW_REPLICA_MS)) {
+                    continue;
+                }
+            } catch (SQLException e) {
+                System.err.println("Router: Replica " + r.url + " unavailable: " + e.getMessage());
+            }
+            if (conn != null) {
+                evict(r, conn);
+            } else {
+                r.evictedUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DbConfig.EVICTION_MS);
+            }
+        }
+    }
+
+    /**
+     * Takes the replica out of rotation for the eviction period. Only the
+     * given connection is swapped out, so a stale failure cannot drop a
+     * connection the checker has already replaced.
+     */
+    private void evict(Replica r, Connection conn) {
+        r.evictedUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DbConfig.EVICTION_MS);
+        if (r.connection.compareAndSet(conn, null)) {
+            r.retired.add(conn);
+        }
+        closeRetired(r);
+    }
+
+    /** Closes swapped-out connections once no read on the replica is in flight. */
+    private static void closeRetired(Replica r) {
+        while (r.inFlight.get() == 0) {
+            Connection conn = r.retired.poll();
+            if (conn == null) {
+                return;
+            }
+            closeQuietly(conn);
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // The replica is being dropped either way
+        }
+    }
+}
+
+
+// ====================================================================
+// 1. MODEL: Student Class (Data Structure)
+// ====================================================================
+/**
+ * The Model represents the data structure (POJO) used throughout the application.
+ */
+class Student {
+    private int studentID;
+    private String name;
+    private String department;
+    private double marks;
+
+    // Constructor for creating new students (ID generated by DB)
+    public Student(String name, String department, double marks) {
+        this.name = name;
+        this.department = department;
+        this.marks = marks;
+    }
+
+    // Constructor for retrieving existing students from DB
+    public Student(int studentID, String name, String department, double marks) {
+        this.studentID = studentID;
+        this.name = name;
+        this.department = department;
+        this.marks = marks;
+    }
+
+    // Getters and Setters
+    public int getStudentID() { return studentID; }
+    public String getName() { return name; }
+    public String getDepartment() { return department; }
+    public double getMarks() { return marks; }
+
+    public void setName(String name) { this.name = name; }
+    public void setDepartment(String department) { this.department = department; }
+    public void setMarks(double marks) { this.marks = marks; }
+
+    @Override
+    public String toString() {
+        return String.format("ID: %-5d | Name: %-20s | Dept: %-15s | Marks: %5.2f%%", 
+            studentID, name, department, marks);
+    }
+}
+
+
+// ====================================================================
+// 1b. CHANGE FEED: StudentChange and ChangeFeed Classes
+// ====================================================================
+/**
+ * One committed Student mutation, as handed to change-feed subscribers.
+ * For a delete only the ID is set.
+ */
+class StudentChange {
+    enum Type { INSERT, UPDATE, DELETE }
+
+    final Type type;
+    final int studentID;
+    final String name;
+    final String department;
+    final double marks;
+
+    StudentChange(Type type, int studentID, String name, String department, double marks) {
+        this.type = type;
+        this.studentID = studentID;
+        this.name = name;
+        this.department = department;
+        this.marks = marks;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.DELETE ? "DELETE ID: " + studentID
+            : String.format("%s ID: %d | Name: %s | Dept: %s | Marks: %.2f", type, studentID, name, department, marks);
+    }
+}
+
+/**
+ * In-process feed of committed changes. Publishers claim a slot in a bounded
+ * ring with a CAS on the claim counter and no lock; every subscriber has its
+ * own cursor and sees every event in order. A slot is reused only after all
+ * subscribers have moved past it, so a slow subscriber holds publishers back
+ * (backpressure) instead of losing events. With no subscribers, publish()
+ * returns at once without touching the ring. An idle subscriber spins
+ * briefly, then parks until the next publish wakes it.
+ */
+class ChangeFeed<E> {
+
+    /** A subscriber's position in the feed. Closing it stops its thread and releases the ring. */
+    final class Subscription implements AutoCloseable {
+        private final AtomicLong cursor;
+        private final Consumer<? super E> handler;
+        private volatile boolean closed;
+        private volatile Thread thread;
+        // Set while the drain thread is parked without a timeout; publish() unparks it
+        private volatile boolean parked;
+
+        private Subscription(long start, Consumer<? super E> handler) {
+            this.cursor = new AtomicLong(start);
+            this.handler = handler;
+        }
+
+        private void drain() {
+            int idle = 0;
+            while (!closed) {
+                long seq = cursor.get();
+                int index = (int) (seq & mask);
+                if (sequences.get(index) != seq) {
+                    // Nothing published yet: spin briefly, then sleep until publish() or close() unparks
+                    if (++idle <= 100) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    parked = true;
+                    // Re-check after raising the flag: a publish in between either sees
+                    // the flag and unparks, or its sequence is visible here
+                    if (sequences.get(index) != seq && !closed) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                    continue;
+                }
+                idle = 0;
+                E event = slots.get(index);
+                cursor.lazySet(seq + 1);
+                try {
+                    handler.accept(event);
+                } catch (RuntimeException e) {
+                    System.err.println("ChangeFeed: Subscriber failed: " + e);
+                }
+            }
+        }
+
+        /** @return Events published but not yet taken by this subscriber. */
+        long lag() {
+            return claimed.get() - cursor.get();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread t = thread;
+            if (t != null && t != Thread.currentThread()) {
+                LockSupport.unpark(t);
+            }
+        }
+    }
+
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+    private final LongAdder backpressureWaits = new LongAdder();
+
+    /** @param capacity Ring size, rounded up to a power of two. */
+    ChangeFeed(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, -1);
+        }
+        this.mask = size - 1;
+    }
+
+    /** @return True if anyone is listening; callers can skip building events otherwise. */
+    boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Starts a daemon thread that hands each event published from now on to
+     * the handler, in publish order.
+     */
+    Subscription subscribe(String name, Consumer<? super E> handler) {
+        Subscription subscription = new Subscription(claimed.get(), handler);
+        subscribers.add(subscription);
+        Thread t = new Thread(subscription::drain, "change-feed-" + name);
+        t.setDaemon(true);
+        subscription.thread = t;
+        t.start();
+        return subscription;
+    }
+
+    /**
+     * Publishes a committed change. Waits while the ring is full, i.e. while
+     * the slowest subscriber is a whole ring behind.
+     */
+    void publish(E event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long seq;
+        boolean waited = false;
+        while (true) {
+            seq = claimed.get();
+            if (seq - slots.length() >= slowestCursor(seq)) {
+                if (!waited) {
+                    backpressureWaits.increment();
+                    waited = true;
+                }
+                LockSupport.parkNanos(10_000);
+                continue;
+            }
+            if (claimed.compareAndSet(seq, seq + 1)) {
+                break;
+            }
+        }
+        int index = (int) (seq & mask);
+        slots.set(index, event);
+        // Publishing the sequence last makes the event visible to subscribers. A full
+        // volatile write, so the parked flags read below cannot be read before it.
+        sequences.set(index, seq);
+        for (Subscription s : subscribers) {
+            if (s.parked) {
+                LockSupport.unpark(s.thread);
+            }
+        }
+    }
+
+    /** @return How many publishes had to wait for a slow subscriber. */
+    long backpressureWaits() {
+        return backpressureWaits.sum();
+    }
+
+    private long slowestCursor(long limit) {
+        long slowest = limit;
+        for (Subscription s : subscribers) {
+            slowest = Math.min(slowest, s.cursor.get());
+        }
+        return slowest;
+    }
+}
+
+
+// ====================================================================
+// 1c. REPOSITORY: StudentRepository Interface (CRUD Surface)
+// ====================================================================
+/**
+ * The CRUD operations the View needs. StudentController implements it over
+ * JDBC; InMemoryStudentRepository implements it for offline and test runs.
+ */
+interface StudentRepository extends AutoCloseable {
+    boolean addStudent(Student student);
+
+    /** @return The student with this ID, or null if there is none. */
+    Student getStudent(int id);
+
+    List<Student> getAllStudents();
+
+    List<Student> getStudentsByDepartment(String department);
+
+    List<String> getDepartments();
+
+    Map<String, List<Student>> topStudentsByDepartment(int n);
+
+    boolean updateStudent(int id, String name, String department, double marks);
+
+    boolean deleteStudent(int id);
+
+    /**
+     * @return How many operations so far failed on a storage error, as opposed
+     *         to a missing row or invalid input. Reads report such failures as
+     *         empty results, so this is the only way to tell the two apart.
+     */
+    long errorCount();
+
+    @Override
+    void close();
+}
+
+
+// ====================================================================
+// 2a. WRITE-BEHIND: StudentWriteBehind Class (Journaled Async Writes)
+// ====================================================================
+/**
+ * Optional write-behind path for the controller (-Dstudent.writeBehind=true).
+ * Each mutation is appended to a local journal and acknowledged at once; a
+ * flusher thread applies queued mutations to the database in batches on its
+ * own connection, one transaction per batch.
+ *
+ * Updates and deletes are coalesced per StudentID, so only the last one
+ * reaches the database. Inserts have no ID until the database assigns one and
+ * are applied individually, in order. Each batch also stores the highest
+ * journal sequence it covers in StudentJournalCheckpoint, in the same
+ * transaction, so on restart exactly the journal records after that point
+ * are replayed. The journal is truncated whenever everything in it has been
+ * flushed. Records reach the OS on every append; -Dstudent.journalSync=true
+ * also forces them to disk, which survives power loss but costs an fsync per
+ * write.
+ *
+ * Reads go to the database, so they see a write only once it is flushed
+ * (within about one flush interval). A batch that fails is rolled back and
+ * applied again row by row, each row behind a savepoint: a row the database
+ * rejects as invalid data (SQLState class 22 or 23) is dropped with an error
+ * and the checkpoint moves past it, so one bad row cannot block the queue or
+ * be replayed on every start. Any other failure, e.g. a lost connection,
+ * puts the batch back and retries it after the next interval.
+ */
+class StudentWriteBehind implements AutoCloseable {
+    private static final byte INSERT = 1;
+    private static final byte UPDATE = 2;
+    private static final byte DELETE = 3;
+    private static final int JOURNAL_ID = 1;
+    // Larger than any record writeUTF can produce; a bigger length is corruption
+    private static final int MAX_RECORD_BYTES = 256 * 1024;
+
+    /** One journaled mutation. For a delete, name and department are null. */
+    private static final class Mutation {
+        final long seq;
+        final byte type;
+        final int studentID;
+        final String name;
+        final String department;
+        final double marks;
+        final long queuedNanos = System.nanoTime();
+
+        Mutation(long seq, byte type, int studentID, String name, String department, double marks) {
+            this.seq = seq;
+            this.type = type;
+            this.studentID = studentID;
+            this.name = name;
+            this.department = department;
+            this.marks = marks;
+        }
+    }
+
+    private final Connection connection;
+    private final FileChannel journal;
+    private final boolean syncEachWrite = Boolean.getBoolean("student.journalSync");
+    private final long flushIntervalMs = Long.getLong("student.flushIntervalMs", 100);
+    private final int batchSize = Integer.getInteger("student.flushBatchSize", 1000);
+    private final ChangeFeed<StudentChange> changes;
+    private final Runnable afterCommit;
+
+    // Guarded by 'lock'
+    private final Object lock = new Object();
+    private List<Mutation> inserts = new ArrayList<>();
+    private Map<Integer, Mutation> latest = new LinkedHashMap<>();
+    private long appendedSeq;
+    private long flushedSeq;
+    private long oldestQueuedNanos;
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(256);
+    private final DataOutputStream record = new DataOutputStream(recordBytes);
+    private final CRC32 crc = new CRC32();
+
+    private final Thread flusher;
+    private volatile boolean closed;
+    private volatile long lastFlushLagNanos;
+    private final LongAdder flushedMutations = new LongAdder();
+    private final LongAdder coalescedMutations = new LongAdder();
+    private final LongAdder flushedBatches = new LongAdder();
+    private final LongAdder rejectedMutations = new LongAdder();
+
+    /**
+     * Opens (or creates) the journal, replays whatever the database has not
+     * seen yet, and starts the flusher thread.
+     * @param connection A connection used only by the flusher.
+     */
+    StudentWriteBehind(Connection connection, Path journalPath, ChangeFeed<StudentChange> changes,
+                       Runnable afterCommit) throws IOException, SQLException {
+        this.connection = connection;
+        this.changes = changes;
+        this.afterCommit = afterCommit;
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "CREATE TABLE IF NOT EXISTS StudentJournalCheckpoint (" +
+                "JournalID INT PRIMARY KEY, LastSeq BIGINT NOT NULL)")) {
+            pstmt.executeUpdate();
+        }
+        connection.setAutoCommit(false);
+        long checkpoint = readCheckpoint();
+        this.appendedSeq = checkpoint;
+        this.journal = FileChannel.open(journalPath,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int replayed = replay(checkpoint);
+        if (replayed > 0) {
+            System.out.println("Controller: Replayed " + replayed + " journaled writes.");
+        }
+        this.flusher = new Thread(this::runFlusher, "student-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    void insert(String name, String department, double marks) throws IOException {
+        append(INSERT, 0, name, department, marks);
+    }
+
+    void update(int id, String name, String department, double marks) throws IOException {
+        append(UPDATE, id, name, department, marks);
+    }
+
+    void delete(int id) throws IOException {
+        append(DELETE, id, null, null, 0);
+    }
+
+    /** @return Mutations acknowledged but not yet in the database. */
+    int queueDepth() {
+        synchronized (lock) {
+            return inserts.size() + latest.size();
+        }
+    }
+
+    /** @return Age of the oldest unflushed mutation, or 0 if nothing is queued. */
+    long flushLagMillis() {
+        synchronized (lock) {
+            return oldestQueuedNanos == 0 ? 0 : (System.nanoTime() - oldestQueuedNanos) / 1_000_000;
+        }
+    }
+
+    String stats() {
+        return String.format("queueDepth=%d flushLagMs=%d lastBatchLagMs=%d flushed=%d coalesced=%d batches=%d rejected=%d",
+            queueDepth(), flushLagMillis(), lastFlushLagNanos / 1_000_000,
+            flushedMutations.sum(), coalescedMutations.sum(), flushedBatches.sum(), rejectedMutations.sum());
+    }
+
+    /** Blocks until everything acknowledged so far is in the database. */
+    void awaitFlushed() throws InterruptedException {
+        synchronized (lock) {
+            long target = appendedSeq;
+            lock.notifyAll();
+            while (flushedSeq < target && !closed) {
+                lock.wait(flushIntervalMs);
+            }
+        }
+    }
+
+    /** Flushes what is queued and stops the flusher. Unflushed writes stay in the journal. */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        try {
+            flusher.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            journal.close();
+            connection.close();
+        } catch (IOException | SQLException e) {
+            System.err.println("Controller Error (Write-Behind Close): " + e.getMessage());
+        }
+    }
+
+    // --- Journal ---
+
+    private void append(byte type, int id, String name, String department, double marks) throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("Write-behind queue is closed");
+            }
+            long seq = appendedSeq + 1;
+            recordBytes.reset();
+            record.writeInt(0); // length placeholder
+            record.writeLong(seq);
+            record.writeByte(type);
+            record.writeInt(id);
+            record.writeUTF(name == null ? "" : name);
+            record.writeUTF(department == null ? "" : department);
+            record.writeDouble(marks);
+            byte[] bytes = recordBytes.toByteArray();
+            int length = bytes.length - 4;
+            ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 4);
+            buffer.put(bytes).putInt(0, length);
+            crc.reset();
+            crc.update(bytes, 4, length);
+            buffer.putInt((int) crc.getValue()).flip();
+            journal.position(journal.size());
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            if (syncEachWrite) {
+                journal.force(false);
+            }
+            appendedSeq = seq;
+            enqueue(new Mutation(seq, type, id, name, department, marks));
+            if (queueDepthLocked() >= batchSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Re-queues journal records newer than the database checkpoint, streaming
+     * the journal through a 64 KB buffer so its size is not limited by the
+     * heap. Reading stops at the first truncated or corrupt record, i.e. a
+     * torn final write.
+     */
+    private int replay(long checkpoint) throws IOException {
+        journal.position(0);
+        // Not closed: closing the stream would close the journal channel too
+        DataInputStream records = new DataInputStream(new BufferedInputStream(Channels.newInputStream(journal), 64 * 1024));
+        long remaining = journal.size();
+        byte[] payload = new byte[256];
+        int replayed = 0;
+        long validEnd = 0;
+        while (remaining >= 4) {
+            int length = records.readInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES || remaining - 4 < (long) length + 4) {
+                break;
+            }
+            if (payload.length < length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+            }
+            records.readFully(payload, 0, length);
+            crc.reset();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != records.readInt()) {
+                break;
+            }
+            remaining -= length + 8L;
+            validEnd += length + 8L;
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 0, length));
+            long seq = in.readLong();
+            byte type = in.readByte();
+            int id = in.readInt();
+            String name = in.readUTF();
+            String department = in.readUTF();
+            double marks = in.readDouble();
+            if (seq > checkpoint) {
+                enqueue(new Mutation(seq, type, id, name, department, marks));
+                appendedSeq = Math.max(appendedSeq, seq);
+                replayed++;
+            }
+        }
+        journal.truncate(validEnd);
+        flushedSeq = checkpoint;
+        if (replayed == 0) {
+            journal.truncate(0);
+        }
+        return replayed;
+    }
+
+    private void enqueue(Mutation m) {
+        if (oldestQueuedNanos == 0) {
+            oldestQueuedNanos = m.queuedNanos;
+        }
+        if (m.type == INSERT) {
+            inserts.add(m);
+        } else if (latest.put(m.studentID, m) != null) {
+            coalescedMutations.increment();
+        }
+    }
+
+    private int queueDepthLocked() {
+        return inserts.size() + latest.size();
+    }
+
+    // --- Flusher ---
+
+    private void runFlusher() {
+        while (true) {
+            synchronized (lock) {
+                if (!closed && queueDepthLocked() < batchSize) {
+                    try {
+                        lock.wait(flushIntervalMs);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed && queueDepthLocked() == 0) {
+                    return;
+                }
+            }
+            if (!flushOnce()) {
+                if (closed) {
+                    return; // Leave the rest in the journal for the next start
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            }
+        }
+    }
+
+    /**
+     * Applies everything queued as one transaction.
+     * @return False if the batch failed and was put back in the queue.
+     */
+    private boolean flushOnce() {
+        List<Mutation> batchInserts;
+        Map<Integer, Mutation> batchLatest;
+        long upTo;
+        long oldest;
+        synchronized (lock) {
+            if (queueDepthLocked() == 0) {
+                return true;
+            }
+            batchInserts = inserts;
+            batchLatest = latest;
+            inserts = new ArrayList<>();
+            latest = new LinkedHashMap<>();
+            upTo = appendedSeq;
+            oldest = oldestQueuedNanos;
+            oldestQueuedNanos = 0;
+        }
+
+        int[] insertedIds = new int[batchInserts.size()];
+        Map<Mutation, SQLException> rejected = Collections.emptyMap();
+        try {
+            try {
+                applyInserts(batchInserts, insertedIds);
+                applyUpdatesAndDeletes(batchLatest.values());
+            } catch (SQLException e) {
+                // Find out whether one row is to blame; a connection problem fails the first row too
+                connection.rollback();
+                rejected = applyOneByOne(batchInserts, insertedIds, batchLatest.values());
+            }
+            writeCheckpoint(upTo);
+            connection.commit();
+        } catch (SQLException e) {
+            System.err.println("Controller Error (Write-Behind Flush): " + e.getMessage());
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                System.err.println("Controller Error (Write-Behind Rollback): " + rollbackEx.getMessage());
+            }
+            requeue(batchInserts, batchLatest, oldest);
+            return false;
+        }
+
+        synchronized (lock) {
+            flushedSeq = upTo;
+            if (flushedSeq == appendedSeq) {
+                try {
+                    journal.truncate(0);
+                } catch (IOException e) {
+                    // Harmless: replay skips records at or below the checkpoint
+                    System.err.println("Controller Error (Journal Truncate): " + e.getMessage());
+                }
+            }
+            lock.notifyAll();
+        }
+        // Only now are the rejected rows really gone; a failed batch retries them with the rest
+        rejected.forEach(this::reportRejected);
+        lastFlushLagNanos = System.nanoTime() - oldest;
+        flushedMutations.add(batchInserts.size() + batchLatest.size() - rejected.size());
+        flushedBatches.increment();
+        afterCommit.run();
+        publish(batchInserts, insertedIds, batchLatest.values(), rejected.keySet());
+        return true;
+    }
+
+    /**
+     * Applies a batch one statement at a time, each behind a savepoint. Rows
+     * the database rejects as invalid data are rolled back to their savepoint
+     * and left out; any other SQLException is rethrown so the whole batch is
+     * retried later. Nothing is reported here, since the batch may still fail.
+     * @return The left-out mutations and the errors that rejected them.
+     */
+    private Map<Mutation, SQLException> applyOneByOne(List<Mutation> batchInserts, int[] insertedIds,
+                                                      Collection<Mutation> batchLatest) throws SQLException {
+        Map<Mutation, SQLException> rejected = new LinkedHashMap<>();
+        try (
+            PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO Student (Name, Department, Marks) VALUES (?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            PreparedStatement update = connection.prepareStatement(
+                "UPDATE Student SET Name = ?, Department = ?, Marks = ? WHERE StudentID = ?");
+            PreparedStatement delete = connection.prepareStatement("DELETE FROM Student WHERE StudentID = ?")
+        ) {
+            for (int i = 0; i < batchInserts.size(); i++) {
+                Mutation m = batchInserts.get(i);
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    insert.setString(1, m.name);
+                    insert.setString(2, m.department);
+                    insert.setDouble(3, m.marks);
+                    insert.executeUpdate();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        insertedIds[i] = keys.next() ? keys.getInt(1) : 0;
+                    }
+                } catch (SQLException e) {
+                    reject(m, savepoint, e, rejected);
+                }
+            }
+            for (Mutation m : batchLatest) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    if (m.type == UPDATE) {
+                        update.setString(1, m.name);
+                        update.setString(2, m.department);
+                        update.setDouble(3, m.marks);
+                        update.setInt(4, m.studentID);
+                        update.executeUpdate();
+                    } else {
+                        delete.setInt(1, m.studentID);
+                        delete.executeUpdate();
+                    }
+                } catch (SQLException e) {
+                    reject(m, savepoint, e, rejected);
+                }
+            }
+        }
+        return rejected;
+    }
+
+    private void reject(Mutation m, Savepoint savepoint, SQLException e, Map<Mutation, SQLException> rejected)
+            throws SQLException {
+        if (!isDataError(e)) {
+            throw e;
+        }
+        connection.rollback(savepoint);
+        rejected.put(m, e);
+    }
+
+    /** Counts and logs a mutation dropped by a committed batch. */
+    private void reportRejected(Mutation m, SQLException e) {
+        rejectedMutations.increment();
+        System.err.println("Controller Error (Write-Behind): dropped journal record " + m.seq + " ("
+            + (m.type == INSERT ? "insert" : m.type == UPDATE ? "update of ID " + m.studentID : "delete of ID " + m.studentID)
+            + (m.type == DELETE ? "" : ", name '" + m.name + "', department '" + m.department + "', marks " + m.marks)
+            + "): " + e.getMessage());
+    }
+
+    /** @return True for data exceptions (class 22) and constraint violations (class 23). */
+    private static boolean isDataError(SQLException e) {
+        for (SQLException x = e; x != null; x = x.getNextException()) {
+            String state = x.getSQLState();
+            if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void applyInserts(List<Mutation> batch, int[] insertedIds) throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO Student (Name, Department, Marks) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (Mutation m : batch) {
+                pstmt.setString(1, m.name);
+                pstmt.setString(2, m.department);
+                pstmt.setDouble(3, m.marks);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                for (int i = 0; i < insertedIds.length && keys.next(); i++) {
+                    insertedIds[i] = keys.getInt(1);
+                }
+            }
+        }
+    }
+
+    private void applyUpdatesAndDeletes(Collection<Mutation> batch) throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try (
+            PreparedStatement update = connection.prepareStatement(
+                "UPDATE Student SET Name = ?, Department = ?, Marks = ? WHERE StudentID = ?");
+            PreparedStatement delete = connection.prepareStatement("DELETE FROM Student WHERE StudentID = ?")
+        ) {
+            boolean updates = false;
+            boolean deletes = false;
+            for (Mutation m : batch) {
+                if (m.type == UPDATE) {
+                    update.setString(1, m.name);
+                    update.setString(2, m.department);
+                    update.setDouble(3, m.marks);
+                    update.setInt(4, m.studentID);
+                    update.addBatch();
+                    updates = true;
+                } else {
+                    delete.setInt(1, m.studentID);
+                    delete.addBatch();
+                    deletes = true;
+                }
+            }
+            if (updates) {
+                update.executeBatch();
+            }
+            if (deletes) {
+                delete.executeBatch();
+            }
+        }
+    }
+
+    private long readCheckpoint() throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT LastSeq FROM StudentJournalCheckpoint WHERE JournalID = ?")) {
+            pstmt.setInt(1, JOURNAL_ID);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                long seq = rs.next() ? rs.getLong(1) : 0;
+                connection.commit();
+                return seq;
+            }
+        }
+    }
+
+    private void writeCheckpoint(long seq) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE StudentJournalCheckpoint SET LastSeq = ? WHERE JournalID = ?")) {
+            update.setLong(1, seq);
+            update.setInt(2, JOURNAL_ID);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO StudentJournalCheckpoint (JournalID, LastSeq) VALUES (?, ?)")) {
+            insert.setInt(1, JOURNAL_ID);
+            insert.setLong(2, seq);
+            insert.executeUpdate();
+        }
+    }
+
+    private void requeue(List<Mutation> batchInserts, Map<Integer, Mutation> batchLatest, long oldest) {
+        synchronized (lock) {
+            batchInserts.addAll(inserts);
+            inserts = batchInserts;
+            // Anything queued meanwhile for the same ID is newer and wins
+            for (Map.Entry<Integer, Mutation> e : latest.entrySet()) {
+                batchLatest.put(e.getKey(), e.getValue());
+            }
+            latest = batchLatest;
+            oldestQueuedNanos = oldest;
+        }
+    }
+
+    private void publish(List<Mutation> batchInserts, int[] insertedIds, Collection<Mutation> batchLatest,
+                         Set<Mutation> rejected) {
+        if (!changes.hasSubscribers()) {
+            return;
+        }
+        for (int i = 0; i < batchInserts.size(); i++) {
+            Mutation m = batchInserts.get(i);
+            if (rejected.contains(m)) {
+                continue;
+            }
+            changes.publish(new StudentChange(StudentChange.Type.INSERT, insertedIds[i], m.name, m.department, m.marks));
+        }
+        for (Mutation m : batchLatest) {
+            if (rejected.contains(m)) {
+                continue;
+            }
+            changes.publish(m.type == UPDATE
+                ? new StudentChange(StudentChange.Type.UPDATE, m.studentID, m.name, m.department, m.marks)
+                : new StudentChange(StudentChange.Type.DELETE, m.studentID, null, null, 0));
+        }
+    }
+}
+
+
+// ====================================================================
+// 1d. METRICS: Metrics Class (Operational Counters)
+// ====================================================================
+/**
+ * Registry of counters, timers and gauges for the student operations. Every
+ * update is a LongAdder add, which stays cheap under concurrent writers (the
+ * write-behind flusher and change-feed threads included); the adders are only
+ * summed for "Show Stats" and the dump file.
+ * With -Dmetrics.file=<path> the registry is also written to that file every
+ * metrics.intervalSec seconds (default 15) in Prometheus text format.
+ */
+class Metrics {
+
+    /** A monotonically increasing count. */
+    static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        void increment() {
+            value.increment();
+        }
+
+        void add(long amount) {
+            value.add(amount);
+        }
+
+        long get() {
+            return value.sum();
+        }
+    }
+
+    /** Count, total and maximum of recorded durations. */
+    static final class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+
+    private static final class Entry {
+        final String help;
+        final Object metric; // Counter, Timer or LongSupplier (gauge)
+
+        Entry(String help, Object metric) {
+            this.help = help;
+            this.metric = metric;
+        }
+    }
+
+    private static final Map<String, Entry> REGISTRY = new ConcurrentSkipListMap<>();
+
+    private Metrics() {
+    }
+
+    static Counter counter(String name, String help) {
+        return (Counter) REGISTRY.computeIfAbsent(name, n -> new Entry(help, new Counter())).metric;
+    }
+
+    static Timer timer(String name, String help) {
+        return (Timer) REGISTRY.computeIfAbsent(name, n -> new Entry(help, new Timer())).metric;
+    }
+
+    /** Registers a value read at display time, such as a queue depth. */
+    static void gauge(String name, String help, LongSupplier value) {
+        REGISTRY.put(name, new Entry(help, value));
+    }
+
+    /** @return Every metric in Prometheus text exposition format. Timers are summaries in seconds. */
+    static String toPrometheus() {
+        StringBuilder sb = new StringBuilder(1024);
+        for (Map.Entry<String, Entry> e : REGISTRY.entrySet()) {
+            String name = e.getKey();
+            Object metric = e.getValue().metric;
+            sb.append("# HELP ").append(name).append(' ').append(e.getValue().help).append('\n');
+            if (metric instanceof Counter) {
+                sb.append("# TYPE ").append(name).append(" counter\n");
+                sb.append(name).append(' ').append(((Counter) metric).get()).append('\n');
+            } else if (metric instanceof Timer) {
+                Timer t = (Timer) metric;
+                sb.append("# TYPE ").append(name).append(" summary\n");
+                sb.append(name).append("_count ").append(t.count.sum()).append('\n');
+                sb.append(name).append("_sum ").append(t.totalNanos.sum() / 1e9).append('\n');
+                sb.append("# TYPE ").append(name).append("_max gauge\n");
+                sb.append(name).append("_max ").append(t.maxNanos.get() / 1e9).append('\n');
+            } else {
+                sb.append("# TYPE ").append(name).append(" gauge\n");
+                sb.append(name).append(' ').append(((LongSupplier) metric).getAsLong()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Prints a readable summary, one metric per line. */
+    static void printSummary() {
+        for (Map.Entry<String, Entry> e : REGISTRY.entrySet()) {
+            Object metric = e.getValue().metric;
+            if (metric instanceof Timer) {
+                Timer t = (Timer) metric;
+                long count = t.count.sum();
+                System.out.printf("%-40s count=%d avg=%.3f ms max=%.3f ms%n", e.getKey(), count,
+                    count == 0 ? 0.0 : t.totalNanos.sum() / 1e6 / count, t.maxNanos.get() / 1e6);
+            } else {
+                long value = metric instanceof Counter ? ((Counter) metric).get() : ((LongSupplier) metric).getAsLong();
+                System.out.printf("%-40s %d%n", e.getKey(), value);
+            }
+        }
+    }
+
+    /**
+     * Starts the periodic dump if -Dmetrics.file is set. The file is written
+     * to a temporary name and renamed, so a scraper never reads half a file.
+     */
+    static void startFileDumpIfConfigured() {
+        String file = System.getProperty("metrics.file");
+        if (file == null) {
+            return;
+        }
+        Path target = Paths.get(file).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long interval = Long.getLong("metrics.intervalSec", 15);
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        Runnable dump = () -> {
+            try {
+                Files.write(temp, toPrometheus().getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                System.err.println("[Metrics] Could not write " + target + ": " + e.getMessage());
+            }
+        };
+        dumper.scheduleAtFixedRate(dump, interval, interval, TimeUnit.SECONDS);
+        // One last dump on exit, so short runs leave a file too
+        Runtime.getRuntime().addShutdownHook(new Thread(dump, "metrics-final-dump"));
+    }
+}
+
+
+// ====================================================================
+// 2. CONTROLLER: StudentController Class (Database Logic)
+// ====================================================================
+/**
+ * The Controller handles all business logic, primarily JDBC operations 
+ * (CRUD) and managing the database connection.
+ */
+class StudentController implements StudentRepository {
+    private volatile Connection connection; // opened by connect(), on first use unless called eagerly
+    private final ReplicaRouter router = DbConfig.REPLICA_URLS.length == 0
+        ? null : new ReplicaRouter(DbConfig.REPLICA_URLS, DbConfig.LEAST_LOADED);
+
+    private final ChangeFeed<StudentChange> changes =
+        new ChangeFeed<>(Integer.getInteger("changes.capacity", 4096));
+    private StudentWriteBehind writeBehind; // null unless write-behind mode is on
+    private final LongAdder errors = new LongAdder();
+
+    /** A read that can run against the primary or any replica. */
+    private interface ReadQuery<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Creates a controller without touching the database. The connection,
+     * schema check and write-behind journal are set up by connect(), which
+     * the first database operation calls if nobody called it earlier.
+     */
+    public StudentController() {
+    }
+
+    /**
+     * Connects to the primary, ensures the table and index exist, and starts
+     * the write-behind when enabled. Does nothing once connected; after a
+     * failure the next call tries again.
+     * @return True if the controller is connected.
+     */
+    public synchronized boolean connect() {
+        if (connection != null) {
+            return true;
+        }
+        try {
+            this.connection = DbConfig.getConnection();
+            // Default: Auto-commit is enabled. Each statement is a transaction.
+            System.out.println("Controller: Database connection successful.");
+            
+            // Optional: Ensure the table exists (Schema setup for a cleaner demo)
+            initializeTable();
+
+            if (DbConfig.WRITE_BEHIND) {
+                writeBehind = new StudentWriteBehind(DbConfig.getConnection(), Paths.get(DbConfig.JOURNAL_FILE),
+                    changes, this::recordWrite);
+                System.out.println("Controller: Write-behind enabled, journal " + DbConfig.JOURNAL_FILE + ".");
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Controller: Error connecting to database.");
+            System.err.println("Message: " + e.getMessage());
+            close();
+            this.connection = null; // Set to null if connection failed
+        } catch (IOException e) {
+            System.err.println("Controller: Could not open the write-behind journal.");
+            System.err.println("Message: " + e.getMessage());
+            close();
+            this.connection = null;
+        }
+        return connection != null;
+    }
+
+    /** @return The primary connection, connecting first if needed. */
+    private Connection connection() throws SQLException {
+        Connection conn = connection;
+        if (conn == null) {
+            if (!connect()) {
+                throw new SQLException("Not connected to the database.");
+            }
+            conn = connection;
+        }
+        return conn;
+    }
+
+    /** @return The write-behind, connecting first so the first write after a lazy start uses it too. */
+    private StudentWriteBehind writeBehind() {
+        if (DbConfig.WRITE_BEHIND && connection == null) {
+            connect();
+        }
+        return writeBehind;
+    }
+
+    /**
+     * Checks values against the Student columns before a write is sent or,
+     * in write-behind mode, acknowledged: a row the database would reject
+     * must not be reported as saved.
+     * @return What is wrong, or null if the values are valid.
+     */
+    static String validate(String name, String department, double marks) {
+        if (name == null || name.trim().isEmpty() || name.length() > 255) {
+            return "Name must be 1-255 characters.";
+        }
+        if (department == null || department.trim().isEmpty() || department.length() > 100) {
+            return "Department must be 1-100 characters.";
+        }
+        if (!(marks >= 0 && marks <= 100)) {
+            return "Marks must be between 0 and 100.";
+        }
+        return null;
+    }
+
+    /**
+     * Creates the Student table if it doesn't exist, along with the
+     * (Department, Marks) index used by the per-department queries.
+     */
+    private void initializeTable() throws SQLException {
+        String sql = "CREATE TABLE IF NOT EXISTS Student (" +
+                     "StudentID INT PRIMARY KEY AUTO_INCREMENT, " +
+                     "Name VARCHAR(255) NOT NULL, " +
+                     "Department VARCHAR(100) NOT NULL, " +
+                     "Marks DECIMAL(5, 2) NOT NULL)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.executeUpdate();
+            // System.out.println("Controller: Student table initialized.");
+        }
+        createIndexIfMissing("idx_student_department_marks", "Department, Marks");
+    }
+
+    /**
+     * MySQL has no CREATE INDEX IF NOT EXISTS, so the index list is checked
+     * through the driver's metadata first. On an existing large table the
+     * first run builds the index, which can take a while.
+     */
+    private void createIndexIfMissing(String indexName, String columns) throws SQLException {
+        DatabaseMetaData meta = connection.getMetaData();
+        String table = meta.storesUpperCaseIdentifiers() ? "STUDENT" : "Student";
+        try (ResultSet rs = meta.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "CREATE INDEX " + indexName + " ON Student (" + columns + ")")) {
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * C - Create: Inserts a new Student record into the database.
+     */
+    @Override
+    public boolean addStudent(Student student) {
+        return insertStudent(student) >= 0;
+    }
+
+    /**
+     * Inserts a student like addStudent() and reports the ID it was given.
+     * @return The new StudentID; 0 if it is not known yet (write-behind mode,
+     *         or a driver that returns no generated keys); -1 if the student
+     *         was not added.
+     */
+    public int insertStudent(Student student) {
+        String invalid = validate(student.getName(), student.getDepartment(), student.getMarks());
+        if (invalid != null) {
+            System.err.println("Controller Error (Add): " + invalid);
+            return -1;
+        }
+        StudentWriteBehind wb = writeBehind();
+        if (wb != null) {
+            try {
+                wb.insert(student.getName(), student.getDepartment(), student.getMarks());
+                return 0;
+            } catch (IOException e) {
+                errors.increment();
+                System.err.println("Controller Error (Add): " + e.getMessage());
+                return -1;
+            }
+        }
+        String sql = "INSERT INTO Student (Name, Department, Marks) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = connection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, student.getName());
+            pstmt.setString(2, student.getDepartment());
+            pstmt.setDouble(3, student.getMarks());
+            
+            // Auto-commit: once executeUpdate returns, the row is committed
+            int affectedRows = pstmt.executeUpdate();
+            recordWrite();
+            if (affectedRows == 0) {
+                return -1;
+            }
+            int id = 0;
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    id = keys.getInt(1);
+                }
+            }
+            changes.publish(new StudentChange(StudentChange.Type.INSERT, id,
+                student.getName(), student.getDepartment(), student.getMarks()));
+            return id;
+        } catch (SQLException e) {
+            errors.increment();
+            System.err.println("Controller Error (Add): " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * R - Read: Retrieves all Student records from the database.
+     */
+    @Override
+    public List<Student> getAllStudents() {
+        String sql = "SELECT StudentID, Name, Department, Marks FROM Student ORDER BY StudentID";
+        
+        try {
+            return read(c -> {
+                List<Student> students = new ArrayList<>();
+                try (
+                    PreparedStatement pstmt = c.prepareStatement(sql);
+                    ResultSet rs = pstmt.executeQuery()
+                ) {
+                    while (rs.next()) {
+                        int id = rs.getInt("StudentID");
+                        String name = rs.getString("Name");
+                        String dept = rs.getString("Department");
+                        double marks = rs.getDouble("Marks");
+                        
+                        students.add(new Student(id, name, dept, marks));
+                    }
+                }
+                return students;
+            });
+        } catch (SQLException e) {
+            errors.increment();
+            System.err.println("Controller Error (Read): " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * R - Read: Retrieves one Student record by ID.
+     */
+    @Override
+    public Student getStudent(int id) {
+        String sql = "SELECT StudentID, Name, Department, Marks FROM Student WHERE StudentID = ?";
+        try {
+            return read(c -> {
+                try (PreparedStatement pstmt = c.prepareStatement(sql)) {
+                    pstmt.setInt(1, id);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (!rs.next()) {
+                            return null;
+                        }
+                        return new Student(rs.getInt("StudentID"), rs.getString("Name"),
+                                           rs.getString("Department"), rs.getDouble("Marks"));
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            errors.increment();
+            System.err.println("Controller Error (Read By ID): " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * R - Read: Retrieves the students of one department, highest marks first.
+     * The (Department, Marks) index serves both the lookup and the ordering.
+     */
+    @Override
+    public List<Student> getStudentsByDepartment(String department) {
+        String sql = "SELECT StudentID, Name, Department, Marks FROM Student " +
+                     "WHERE Department = ? ORDER BY Marks DESC";
+        return queryStudents(sql, department, -1);
+    }
+
+    /**
+     * Same result as getStudentsByDepartment, but the filter is written so no
+     * index can be used. Only meant for comparing scan and seek latency.
+     */
+    List<Student> getStudentsByDepartmentWithoutIndex(String department) {
+        String sql = "SELECT StudentID, Name, Department, Marks FROM Student " +
+                     "WHERE CONCAT(Department, '') = ? ORDER BY Marks DESC";
+        return queryStudents(sql, department, -1);
+    }
+
+    /**
+     * R - Read: Retrieves every distinct department name, in order.
+     */
+    @Override
+    public List<String> getDepartments() {
+        String sql = "SELECT DISTINCT Department FROM Student ORDER BY Department";
+        try {
+            return read(c -> {
+                List<String> departments = new ArrayList<>();
+                try (
+                    PreparedStatement pstmt = c.prepareStatement(sql);
+                    ResultSet rs = pstmt.executeQuery()
+                ) {
+                    while (rs.next()) {
+                        departments.add(rs.getString("Department"));
+                    }
+                }
+                return departments;
+            });
+        } catch (SQLException e) {
+            errors.increment();
+            System.err.println("Controller Error (Read Departments): " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * R - Read: Retrieves the top n students of each department by marks.
+     * Each department is a separate LIMIT query, so the index only has to
+     * read n entries per department instead of sorting the whole table.
+     * @return Department name to its top students, departments in name order.
+     */
+    @Override
+    public Map<String, List<Student>> topStudentsByDepartment(int n) {
+        Map<String, List<Student>> top = new LinkedHashMap<>();
+        String sql = "SELECT StudentID, Name, Department, Marks FROM Student " +
+                     "WHERE Department = ? ORDER BY Marks DESC LIMIT ?";
+        for (String department : getDepartments()) {
+            top.put(department, queryStudents(sql, department, n));
+        }
+        return top;
+    }
+
+    /**
+     * Runs a query taking a department and, if limit is not negative, a row limit.
+     */
+    private List<Student> queryStudents(String sql, String department, int limit) {
+        try {
+            return read(c -> {
+                List<Student> students = new ArrayList<>();
+                try (PreparedStatement pstmt = c.prepareStatement(sql)) {
+                    pstmt.setString(1, department);
+                    if (limit >= 0) {
+                        pstmt.setInt(2, limit);
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            int id = rs.getInt("StudentID");
+                            String name = rs.getString("Name");
+                            String dept = rs.getString("Department");
+                            double marks = rs.getDouble("Marks");
+
+                            students.add(new Student(id, name, dept, marks));
+                        }
+                    }
+                }
+                return students;
+            });
+        } catch (SQLException e) {
+            errors.increment();
+            System.err.println("Controller Error (Read By Department): " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Runs a read on a replica when the router has a healthy one, otherwise
+     * on the primary. A read that fails on a replica is retried on the primary.
+     */
+    private <T> T read(ReadQuery<T> query) throws SQLException {
+        ReplicaRouter.Lease lease = router == null ? null : router.acquire();
+        if (lease == null) {
+            return query.run(connection());
+        }
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = query.run(lease.connection);
+        } catch (SQLException e) {
+            router.release(lease, System.nanoTime() - start, true);
+            System.err.println("Controller: Replica read failed, using primary: " + e.getMessage());
+            return query.run(connection());
+        }
+        router.release(lease, System.nanoTime() - start, false);
+        return result;
+    }
+
+    /** Keeps the following reads on the primary for the read-your-writes window. */
+    private void recordWrite() {
+        if (router != null) {
+            router.recordWrite();
+        }
+    }
+
+    /**
+     * U - Update: Modifies an existing Student record.
+     */
+    @Override
+    public boolean updateStudent(int id, String name, String department, double marks) {
+        String invalid = validate(name, department, marks);
+        if (invalid != null) {
+            System.err.println("Controller Error (Update): " + invalid);
+            return false;
+        }
+        StudentWriteBehind wb = writeBehind();
+        if (wb != null) {
+            // Acknowledged once journaled; an unknown ID is a no-op when flushed
+            try {
+                wb.update(id, name, department, marks);
+                return true;
+            } catch (IOException e) {
+                errors.increment();
+                System.err.println("Controller Error (Update): " + e.getMessage());
+                return false;
+            }
+        }
+        String sql = "UPDATE Student SET Name = ?, Department = ?, Marks = ? WHERE StudentID = ?";
+        try (PreparedStatement pstmt = connection().prepareStatement(sql)) {
+            pstmt.setString(1, name);
+            pstmt.setString(2, department);
+            pstmt.setDouble(3, marks);
+            pstmt.setInt(4, id);
+            
+            int affectedRows = pstmt.executeUpdate();
+            recordWrite();
+            if (affectedRows > 0) {
+                changes.publish(new StudentChange(StudentChange.Type.UPDATE, id, name, department, marks));
+            }
+            return affectedRows > 0;
+        } catch (SQLException e) {
+            errors.increment();
+            System.err.println("Controller Error (Update): " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * D - Delete: Removes a Student record by ID.
+     */
+    @Override
+    public boolean deleteStudent(int id) {
+        StudentWriteBehind wb = writeBehind();
+        if (wb != null) {
+            try {
+                wb.delete(id);
+                return true;
+            } catch (IOException e) {
+                errors.increment();
+                System.err.println("Controller Error (Delete): " + e.getMessage());
+                return false;
+            }
+        }
+        String sql = "DELETE FROM Student WHERE StudentID = ?";
+        try (PreparedStatement pstmt = connection().prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            
+            int affectedRows = pstmt.executeUpdate();
+            recordWrite();
+            if (affectedRows > 0) {
+                changes.publish(new StudentChange(StudentChange.Type.DELETE, id, null, null, 0));
+            }
+            return affectedRows > 0;
+        } catch (SQLException e) {
+            errors.increment();
+            System.err.println("Controller Error (Delete): " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return The feed of committed add/update/delete changes. Bulk seeding
+     *         bypasses it.
+     */
+    public ChangeFeed<StudentChange> changes() {
+        return changes;
+    }
+
+    /**
+     * In write-behind mode, waits until every acknowledged write is in the
+     * database; otherwise returns at once.
+     */
+    public void flushPendingWrites() {
+        if (writeBehind != null) {
+            try {
+                writeBehind.awaitFlushed();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** @return Writes acknowledged but not yet flushed; 0 when write-behind is off. */
+    public int pendingWrites() {
+        StudentWriteBehind wb = writeBehind;
+        return wb == null ? 0 : wb.queueDepth();
+    }
+
+    /** @return Age of the oldest unflushed write in ms; 0 when write-behind is off. */
+    public long pendingWriteLagMillis() {
+        StudentWriteBehind wb = writeBehind;
+        return wb == null ? 0 : wb.flushLagMillis();
+    }
+
+    /**
+     * @return Write-behind queue depth and flush lag, or null when write-behind is off.
+     */
+    public String writeBehindStats() {
+        return writeBehind == null ? null : writeBehind.stats();
+    }
+
+    /**
+     * @return True once connect() has succeeded; false before the first
+     *         database operation of a lazy start.
+     */
+    public boolean isConnected() {
+        return connection != null;
+    }
+
+    /**
+     * Seeds the Student table with generated rows for benchmarking, inserting
+     * in batches of 10,000 with one commit per batch.
+     * @return The number of rows inserted.
+     */
+    public int seedStudents(int rows, long seed) {
+        String sql = "INSERT INTO Student (Name, Department, Marks) VALUES (?, ?, ?)";
+        String[] departments = {"Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+                                "Economics", "History", "Literature", "Philosophy", "Engineering"};
+        Random random = new Random(seed);
+        int inserted = 0;
+        if (!connect()) {
+            return 0;
+        }
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (int i = 1; i <= rows; i++) {
+                pstmt.setString(1, "Student " + i);
+                pstmt.setString(2, departments[random.nextInt(departments.length)]);
+                pstmt.setDouble(3, random.nextInt(10_001) / 100.0);
+                pstmt.addBatch();
+                if (i % 10_000 == 0 || i == rows) {
+                    for (int count : pstmt.executeBatch()) {
+                        inserted += count == PreparedStatement.SUCCESS_NO_INFO ? 1 : count;
+                    }
+                    connection.commit();
+                    recordWrite();
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Controller Error (Seed): " + e.getMessage());
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                System.err.println("Controller Error (Seed Rollback): " + rollbackEx.getMessage());
+            }
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                System.err.println("Controller Error (Seed): " + e.getMessage());
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public long errorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Closes the database connection when the application shuts down.
+     */
+    @Override
+    public void close() {
+        if (writeBehind != null) {
+            writeBehind.close();
+            System.out.println("Controller: Write-behind stopped (" + writeBehind.stats() + ").");
+            writeBehind = null;
+        }
+        if (router != null) {
+            router.close();
+        }
+        try {
+            if (connection != null && !connection.isClosed()) {
+                connection.close();
+                System.out.println("Controller: Database connection closed.");
+            }
+        } catch (SQLException e) {
+            System.err.println("Controller Error (Close): " + e.getMessage());
+        }
+    }
+}
+
+
+// ====================================================================
+// 2b. OFFLINE MODEL: InMemoryStudentRepository Class
+// ====================================================================
+/**
+ * Keeps students in memory, keyed by int StudentID without boxing. The ID
+ * space is split over 64 stripes, each an open-addressing hash table behind
+ * its own StampedLock, so writers to different stripes never contend. Point
+ * reads are optimistic: they take no lock and only retry under the read lock
+ * if a writer touched the stripe meanwhile. Stored students are private
+ * copies, and reads return fresh copies, so callers cannot change them.
+ * Enabled with -Dstudent.repository=memory.
+ */
+class InMemoryStudentRepository implements StudentRepository {
+    private static final int STRIPES = 64;
+
+    /** Keys and values of one stripe, replaced as a whole when it grows. */
+    private static final class Table {
+        final int[] keys;           // 0 marks an empty slot; IDs start at 1
+        final Student[] values;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new Student[capacity];
+        }
+    }
+
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        Table table = new Table(16);
+        int size;
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    InMemoryStudentRepository() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public boolean addStudent(Student student) {
+        int id = nextId.incrementAndGet();
+        Stripe stripe = stripeFor(id);
+        long stamp = stripe.lock.writeLock();
+        try {
+            put(stripe, id, new Student(id, student.getName(), student.getDepartment(), student.getMarks()));
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    @Override
+    public Student getStudent(int id) {
+        if (id <= 0) {
+            return null; // IDs start at 1, and key 0 marks an empty slot
+        }
+        Stripe stripe = stripeFor(id);
+        long stamp = stripe.lock.tryOptimisticRead();
+        Student s = find(stripe.table, id);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                s = find(stripe.table, id);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return s == null ? null : copy(s);
+    }
+
+    @Override
+    public List<Student> getAllStudents() {
+        List<Student> students = snapshot();
+        students.sort(Comparator.comparingInt(Student::getStudentID));
+        return students;
+    }
+
+    @Override
+    public List<Student> getStudentsByDepartment(String department) {
+        List<Student> students = new ArrayList<>();
+        for (Student s : snapshot()) {
+            if (s.getDepartment().equals(department)) {
+                students.add(s);
+            }
+        }
+        students.sort(Comparator.comparingDouble(Student::getMarks).reversed());
+        return students;
+    }
+
+    @Override
+    public List<String> getDepartments() {
+        TreeSet<String> departments = new TreeSet<>();
+        for (Student s : snapshot()) {
+            departments.add(s.getDepartment());
+        }
+        return new ArrayList<>(departments);
+    }
+
+    @Override
+    public Map<String, List<Student>> topStudentsByDepartment(int n) {
+        Map<String, List<Student>> byDepartment = new TreeMap<>();
+        for (Student s : snapshot()) {
+            byDepartment.computeIfAbsent(s.getDepartment(), d -> new ArrayList<>()).add(s);
+        }
+        Map<String, List<Student>> top = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Student>> e : byDepartment.entrySet()) {
+            List<Student> students = e.getValue();
+            students.sort(Comparator.comparingDouble(Student::getMarks).reversed());
+            top.put(e.getKey(), new ArrayList<>(students.subList(0, Math.min(n, students.size()))));
+        }
+        return top;
+    }
+
+    @Override
+    public boolean updateStudent(int id, String name, String department, double marks) {
+        if (id <= 0) {
+            return false;
+        }
+        Stripe stripe = stripeFor(id);
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (find(stripe.table, id) == null) {
+                return false;
+            }
+            put(stripe, id, new Student(id, name, department, marks));
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean deleteStudent(int id) {
+        if (id <= 0) {
+            return false;
+        }
+        Stripe stripe = stripeFor(id);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return remove(stripe, id);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /** @return The number of students stored. */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            size += stripe.size;
+            stripe.lock.unlockRead(stamp);
+        }
+        return size;
+    }
+
+    @Override
+    public long errorCount() {
+        return 0; // Nothing here can fail on storage
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    // --- Hashing ---
+
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Stripe stripeFor(int id) {
+        // Top bits pick the stripe, low bits the slot, so the two are independent
+        return stripes[hash(id) >>> 26];
+    }
+
+    /**
+     * Linear probe for id. Safe to call without the lock: the result is then
+     * only trusted if the stamp still validates afterwards.
+     */
+    private static Student find(Table table, int id) {
+        int mask = table.keys.length - 1;
+        for (int i = hash(id) & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            int key = table.keys[i];
+            if (key == 0) {
+                return null;
+            }
+            if (key == id) {
+                return table.values[i];
+            }
+        }
+        return null;
+    }
+
+    /** Inserts or replaces; the write lock must be held. */
+    private static void put(Stripe stripe, int id, Student student) {
+        Table table = stripe.table;
+        if ((stripe.size + 1) * 4 > table.keys.length * 3) {
+            table = resize(stripe);
+        }
+        int mask = table.keys.length - 1;
+        int i = hash(id) & mask;
+        while (table.keys[i] != 0 && table.keys[i] != id) {
+            i = (i + 1) & mask;
+        }
+        if (table.keys[i] == 0) {
+            table.keys[i] = id;
+            stripe.size++;
+        }
+        table.values[i] = student;
+    }
+
+    /** Removes id with backward-shift deletion, so no tombstones are needed; the write lock must be held. */
+    private static boolean remove(Stripe stripe, int id) {
+        Table table = stripe.table;
+        int mask = table.keys.length - 1;
+        int i = hash(id) & mask;
+        while (true) {
+            if (table.keys[i] == 0) {
+                return false;
+            }
+            if (table.keys[i] == id) {
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+        // Move later entries of the same probe run back into the gap
+        int gap = i;
+        for (int j = (gap + 1) & mask; table.keys[j] != 0; j = (j + 1) & mask) {
+            int home = hash(table.keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table.keys[gap] = table.keys[j];
+                table.values[gap] = table.values[j];
+                gap = j;
+            }
+        }
+        table.keys[gap] = 0;
+        table.values[gap] = null;
+        stripe.size--;
+        return true;
+    }
+
+    private static Table resize(Stripe stripe) {
+        Table old = stripe.table;
+        Table table = new Table(old.keys.length * 2);
+        int mask = table.keys.length - 1;
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.keys[i] != 0) {
+                int j = hash(old.keys[i]) & mask;
+                while (table.keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                table.keys[j] = old.keys[i];
+                table.values[j] = old.values[i];
+            }
+        }
+        stripe.table = table;
+        return table;
+    }
+
+    /** Copies every student out, one stripe at a time under its read lock. */
+    private List<Student> snapshot() {
+        List<Student> students = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                Table table = stripe.table;
+                for (int i = 0; i < table.keys.length; i++) {
+                    if (table.keys[i] != 0) {
+                        students.add(copy(table.values[i]));
+                    }
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return students;
+    }
+
+    private static Student copy(Student s) {
+        return new Student(s.getStudentID(), s.getName(), s.getDepartment(), s.getMarks());
+    }
 }
 
 
 // ====================================================================
-// 1. MODEL: Student Class (Data Structure)
+// 3a. VIEW HELPER: TableRenderer Class (Buffered Listing Output)
 // ====================================================================
 /**
- * The Model represents the data structure (POJO) used throughout the application.
+ * Used by the View for long listings. The row layout is defined once, rows
+ * are formatted into one StringBuilder, and output is handed to System.out
+ * in 64 KB chunks instead of one println per student.
  */
-class Student {
-    private int studentID;
-    private String name;
-    private String department;
-    private double marks;
+class TableRenderer {
 
-    // Constructor for creating new students (ID generated by DB)
-    public Student(String name, String department, double marks) {
-        this.name = name;
-        this.department = department;
-        this.marks = marks;
-    }
+    /** One cell of the layout: literal text before it, minimum width and alignment. */
+    static final class Column {
+        final String prefix;
+        final int width;
+        final boolean leftAligned;
 
-    // Constructor for retrieving existing students from DB
-    public Student(int studentID, String name, String department, double marks) {
-        this.studentID = studentID;
-        this.name = name;
-        this.department = department;
-        this.marks = marks;
+        Column(String prefix, int width, boolean leftAligned) {
+            this.prefix = prefix;
+            this.width = width;
+            this.leftAligned = leftAligned;
+        }
     }
 
-    // Getters and Setters
-    public int getStudentID() { return studentID; }
-    public String getName() { return name; }
-    public String getDepartment() { return department; }
-    public double getMarks() { return marks; }
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final String SPACES = "                                                  ";
 
-    public void setName(String name) { this.name = name; }
-    public void setDepartment(String department) { this.department = department; }
-    public void setMarks(double marks) { this.marks = marks; }
+    private final Column[] columns;
+    private final String rowSuffix;
+    private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 256);
+    private final char decimalSeparator;
+    private int column;
 
-    @Override
-    public String toString() {
-        return String.format("ID: %-5d | Name: %-20s | Dept: %-15s | Marks: %5.2f%%", 
-            studentID, name, department, marks);
+    TableRenderer(String rowSuffix, Column... columns) {
+        this.rowSuffix = rowSuffix;
+        this.columns = columns;
+        // Same separator String.format would use for %.2f in the default locale
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.decimalSeparator = symbols.getDecimalSeparator();
     }
-}
 
+    TableRenderer add(String value) {
+        int start = beginCell();
+        buffer.append(value);
+        return endCell(start);
+    }
 
-// ====================================================================
-// 2. CONTROLLER: StudentController Class (Database Logic)
-// ====================================================================
-/**
- * The Controller handles all business logic, primarily JDBC operations 
- * (CRUD) and managing the database connection.
- */
-class StudentController {
-    private Connection connection;
+    TableRenderer add(long value) {
+        int start = beginCell();
+        buffer.append(value);
+        return endCell(start);
+    }
 
-    public StudentController() {
-        try {
-            // Attempt to establish the connection immediately upon instantiation
-            this.connection = DriverManager.getConnection(DbConfig.DB_URL, DbConfig.USER, DbConfig.PASS);
-            // Default: Auto-commit is enabled. Each statement is a transaction.
-            System.out.println("Controller: Database connection successful.");
-            
-            // Optional: Ensure the table exists (Schema setup for a cleaner demo)
-            initializeTable();
-            
-        } catch (SQLException e) {
-            System.err.println("Controller: Error connecting to database.");
-            System.err.println("Message: " + e.getMessage());
-            this.connection = null; // Set to null if connection failed
-        }
+    /** Appends the value as String.format("%.2f") would. */
+    TableRenderer add(double value) {
+        int start = beginCell();
+        appendFixed2(value);
+        return endCell(start);
     }
 
-    /**
-     * Creates the Student table if it doesn't exist.
-     */
-    private void initializeTable() throws SQLException {
-        String sql = "CREATE TABLE IF NOT EXISTS Student (" +
-                     "StudentID INT PRIMARY KEY AUTO_INCREMENT, " +
-                     "Name VARCHAR(255) NOT NULL, " +
-                     "Department VARCHAR(100) NOT NULL, " +
-                     "Marks DECIMAL(5, 2) NOT NULL)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.executeUpdate();
-            // System.out.println("Controller: Student table initialized.");
+    /** Completes the current row. */
+    void endRow() {
+        buffer.append(rowSuffix).append(System.lineSeparator());
+        column = 0;
+        if (buffer.length() >= CHUNK_SIZE) {
+            flush();
         }
     }
 
-    /**
-     * C - Create: Inserts a new Student record into the database.
-     */
-    public boolean addStudent(Student student) {
-        String sql = "INSERT INTO Student (Name, Department, Marks) VALUES (?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, student.getName());
-            pstmt.setString(2, student.getDepartment());
-            pstmt.setDouble(3, student.getMarks());
-            
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
-        } catch (SQLException e) {
-            System.err.println("Controller Error (Add): " + e.getMessage());
-            return false;
+    /** Queues a literal line, such as a header or separator. */
+    void line(String text) {
+        buffer.append(text).append(System.lineSeparator());
+        if (buffer.length() >= CHUNK_SIZE) {
+            flush();
         }
     }
 
     /**
-     * R - Read: Retrieves all Student records from the database.
+     * Hands everything queued so far to System.out. Call it once the listing
+     * is complete, before printing through System.out again.
      */
-    public List<Student> getAllStudents() {
-        List<Student> students = new ArrayList<>();
-        String sql = "SELECT StudentID, Name, Department, Marks FROM Student ORDER BY StudentID";
-        
-        try (
-            PreparedStatement pstmt = connection.prepareStatement(sql);
-            ResultSet rs = pstmt.executeQuery()
-        ) {
-            while (rs.next()) {
-                int id = rs.getInt("StudentID");
-                String name = rs.getString("Name");
-                String dept = rs.getString("Department");
-                double marks = rs.getDouble("Marks");
-                
-                students.add(new Student(id, name, dept, marks));
-            }
-        } catch (SQLException e) {
-            System.err.println("Controller Error (Read): " + e.getMessage());
+    void flush() {
+        if (buffer.length() > 0) {
+            System.out.append(buffer);
+            buffer.setLength(0);
         }
-        return students;
+        System.out.flush();
     }
 
-    /**
-     * U - Update: Modifies an existing Student record.
-     */
-    public boolean updateStudent(int id, String name, String department, double marks) {
-        String sql = "UPDATE Student SET Name = ?, Department = ?, Marks = ? WHERE StudentID = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, name);
-            pstmt.setString(2, department);
-            pstmt.setDouble(3, marks);
-            pstmt.setInt(4, id);
-            
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
-        } catch (SQLException e) {
-            System.err.println("Controller Error (Update): " + e.getMessage());
-            return false;
-        }
+    private int beginCell() {
+        buffer.append(columns[column].prefix);
+        return buffer.length();
     }
 
-    /**
-     * D - Delete: Removes a Student record by ID.
-     */
-    public boolean deleteStudent(int id) {
-        String sql = "DELETE FROM Student WHERE StudentID = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
-        } catch (SQLException e) {
-            System.err.println("Controller Error (Delete): " + e.getMessage());
-            return false;
+    private TableRenderer endCell(int start) {
+        Column c = columns[column++];
+        int padding = c.width - (buffer.length() - start);
+        while (padding > 0) {
+            int n = Math.min(padding, SPACES.length());
+            if (c.leftAligned) {
+                buffer.append(SPACES, 0, n);
+            } else {
+                buffer.insert(start, SPACES, 0, n);
+            }
+            padding -= n;
         }
+        return this;
     }
 
     /**
-     * Closes the database connection when the application shuts down.
+     * Appends the value with two decimals exactly as String.format("%.2f")
+     * would. Formatter rounds the shortest decimal form of the double
+     * half-up, so cents are found by comparing against the doubles nearest to
+     * each decimal boundary. Very large and non-finite values go to String.format.
      */
-    public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Controller: Database connection closed.");
-            }
-        } catch (SQLException e) {
-            System.err.println("Controller Error (Close): " + e.getMessage());
+    private void appendFixed2(double value) {
+        double a = Math.abs(value);
+        if (!(a < 1e12)) {
+            buffer.append(String.format("%.2f", value));
+            return;
         }
+        long cents = (long) (a * 100);
+        if ((cents + 1) / 100.0 <= a) {
+            cents++;
+        } else if (cents / 100.0 > a) {
+            cents--;
+        }
+        if (a >= (cents * 10 + 5) / 1000.0) {
+            cents++;
+        }
+
+        if (Double.doubleToRawLongBits(value) < 0) {
+            buffer.append('-');
+        }
+        long whole = cents / 100;
+        buffer.append(whole);
+        long fraction = cents % 100;
+        buffer.append(decimalSeparator).append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
     }
 }
 
@@ -201,24 +2336,109 @@ class StudentController {
 // ====================================================================
 /**
  * The View/Main class handles user input, displays the menu, and invokes 
- * the appropriate methods in the StudentController.
+ * the appropriate methods in the StudentRepository: the StudentController,
+ * or the in-memory repository with -Dstudent.repository=memory.
  */
 public class Main{
     private static final Scanner scanner = new Scanner(System.in);
     private static StudentController controller;
+    private static StudentRepository repository;
+
+    // -Ddb.lazyConnect=true shows the menu before connecting; the first database operation connects
+    private static final boolean LAZY_CONNECT = Boolean.getBoolean("db.lazyConnect");
+    // -Dstartup.trace=true prints time-to-menu and time-to-first-query (ms since JVM start) to stderr;
+    // a menu query that fails before that is reported as "queryFailed" instead
+    private static final boolean STARTUP_TRACE = Boolean.getBoolean("startup.trace");
+    private static boolean firstQueryTraced = false;
+
+    // --- Metrics, recorded around each repository call made by the menu ---
+    private static final Metrics.Timer CREATE_TIMER =
+        Metrics.timer("student_create_seconds", "Time to add one student.");
+    private static final Metrics.Timer READ_ALL_TIMER =
+        Metrics.timer("student_read_all_seconds", "Time to read every student.");
+    private static final Metrics.Timer READ_DEPARTMENT_TIMER =
+        Metrics.timer("student_read_department_seconds", "Time to read one department.");
+    private static final Metrics.Timer TOP_TIMER =
+        Metrics.timer("student_top_by_department_seconds", "Time to read the top students of every department.");
+    private static final Metrics.Timer UPDATE_TIMER =
+        Metrics.timer("student_update_seconds", "Time to update one student.");
+    private static final Metrics.Timer DELETE_TIMER =
+        Metrics.timer("student_delete_seconds", "Time to delete one student.");
+    private static final Metrics.Counter ROWS_READ =
+        Metrics.counter("student_rows_read_total", "Student records returned by reads.");
+    private static final Metrics.Counter FAILED =
+        Metrics.counter("student_failed_operations_total", "Writes the repository reported as failed.");
+
+    // Row layout, equivalent to Student.toString()
+    private static final TableRenderer STUDENT_ROWS = new TableRenderer("%",
+        new TableRenderer.Column("ID: ", 5, true),
+        new TableRenderer.Column(" | Name: ", 20, true),
+        new TableRenderer.Column(" | Dept: ", 15, true),
+        new TableRenderer.Column(" | Marks: ", 5, false));
 
     public static void main(String[] args) {
-        // Initialize the Controller, which attempts to establish the DB connection
+        if ("memory".equalsIgnoreCase(System.getProperty("student.repository"))) {
+            // Offline mode: no database, "Main bench [ops]" runs the multi-threaded repository benchmark
+            if (args.length > 0 && args[0].equals("bench")) {
+                runRepositoryBenchmark(args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000);
+                return;
+            }
+            InMemoryStudentRepository memory = new InMemoryStudentRepository();
+            repository = memory;
+            System.out.println("Using the in-memory student repository (nothing is saved).");
+            Metrics.gauge("student_repository_size", "Students held by the in-memory repository.", memory::size);
+            Metrics.startFileDumpIfConfigured();
+            runMenu();
+            return;
+        }
+
+        // Initialize the Controller; unless startup is lazy, connect and check the schema right away
         controller = new StudentController();
+        repository = controller;
 
-        if (controller.connection == null) {
+        if (!LAZY_CONNECT && !controller.connect()) {
             System.err.println("Application cannot run without a database connection.");
             return;
         }
 
+        Metrics.gauge("student_connection_open", "1 while the primary connection is open.",
+            () -> controller.isConnected() ? 1 : 0);
+        Metrics.gauge("student_write_behind_queue_depth", "Writes acknowledged but not yet flushed.",
+            controller::pendingWrites);
+        Metrics.gauge("student_write_behind_lag_milliseconds", "Age of the oldest unflushed write.",
+            controller::pendingWriteLagMillis);
+        Metrics.gauge("student_change_feed_backpressure_waits",
+            "Publishes that waited for a slow change-feed subscriber.", controller.changes()::backpressureWaits);
+        Metrics.startFileDumpIfConfigured();
+
+        // -Dchanges.log=true prints every committed change to stderr
+        if (Boolean.getBoolean("changes.log")) {
+            controller.changes().subscribe("log", change -> System.err.println("[CHANGE] " + change));
+        }
+
+        // Non-interactive modes: "Main seed <rows>" fills the table, "Main bench [ops]" times the CRUD paths
+        if (args.length > 0 && (args[0].equals("seed") || args[0].equals("bench"))) {
+            try {
+                int count = args.length > 1 ? Integer.parseInt(args[1]) : (args[0].equals("seed") ? 1_000_000 : 10_000);
+                if (args[0].equals("seed")) {
+                    System.out.println("Seeded " + controller.seedStudents(count, 42) + " student rows.");
+                } else {
+                    runBenchmarks(count);
+                }
+            } finally {
+                controller.close();
+            }
+            return;
+        }
+
+        runMenu();
+    }
+
+    private static void runMenu() {
         int choice = 0;
+        traceStartup("menu");
         try {
-            while (choice != 5) {
+            while (choice != 8) {
                 displayMenu();
                 if (scanner.hasNextInt()) {
                     choice = scanner.nextInt();
@@ -229,21 +2449,41 @@ public class Main{
                     continue;
                 }
                 
+                long errorsBefore = repository.errorCount();
                 switch (choice) {
                     case 1: addStudentView(); break;
                     case 2: viewAllStudentsView(); break;
                     case 3: updateStudentView(); break;
                     case 4: deleteStudentView(); break;
-                    case 5: System.out.println("Exiting application. Goodbye!"); break;
-                    default: System.out.println("Invalid choice. Please enter 1-5.");
+                    case 5: viewDepartmentView(); break;
+                    case 6: viewTopStudentsView(); break;
+                    case 7: showStatsView(); break;
+                    case 8: System.out.println("Exiting application. Goodbye!"); break;
+                    default: System.out.println("Invalid choice. Please enter 1-8.");
+                }
+                if (choice >= 1 && choice <= 6 && !firstQueryTraced) {
+                    // Only a query that reached the database counts as the first one
+                    if (repository.errorCount() == errorsBefore) {
+                        firstQueryTraced = true;
+                        traceStartup("firstQuery");
+                    } else {
+                        traceStartup("queryFailed");
+                    }
                 }
             }
         } finally {
-            controller.close(); // Ensure connection is closed on exit
+            repository.close(); // Ensure connection is closed on exit
             scanner.close();
         }
     }
 
+    private static void traceStartup(String event) {
+        if (STARTUP_TRACE) {
+            System.err.printf("{\"startup\":\"%s\",\"ms\":%d}%n",
+                event, ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+    }
+
     private static void displayMenu() {
         System.out.println("\n=================================================");
         System.out.println("     University Student Management (MVC)");
@@ -252,7 +2492,10 @@ public class Main{
         System.out.println("2. View All Students");
         System.out.println("3. Update Student Details");
         System.out.println("4. Delete Student Record");
-        System.out.println("5. Exit");
+        System.out.println("5. View Students by Department");
+        System.out.println("6. View Top Students per Department");
+        System.out.println("7. Show Stats");
+        System.out.println("8. Exit");
         System.out.print("Enter choice: ");
     }
 
@@ -269,9 +2512,13 @@ public class Main{
 
             Student newStudent = new Student(name, department, marks);
 
-            if (controller.addStudent(newStudent)) {
+            long start = System.nanoTime();
+            boolean added = repository.addStudent(newStudent);
+            CREATE_TIMER.record(System.nanoTime() - start);
+            if (added) {
                 System.out.println("[SUCCESS] Student '" + name + "' added successfully.");
             } else {
+                FAILED.increment();
                 System.out.println("[FAILED] Could not add student.");
             }
         } catch (java.util.InputMismatchException e) {
@@ -282,7 +2529,10 @@ public class Main{
 
     private static void viewAllStudentsView() {
         System.out.println("\n--- All Enrolled Students ---");
-        List<Student> students = controller.getAllStudents();
+        long start = System.nanoTime();
+        List<Student> students = repository.getAllStudents();
+        READ_ALL_TIMER.record(System.nanoTime() - start);
+        ROWS_READ.add(students.size());
 
         if (students.isEmpty()) {
             System.out.println("No student records found.");
@@ -291,11 +2541,71 @@ public class Main{
 
         System.out.println("--------------------------------------------------------------------------------");
         for (Student s : students) {
-            System.out.println(s);
+            STUDENT_ROWS.add(s.getStudentID()).add(s.getName()).add(s.getDepartment()).add(s.getMarks()).endRow();
+        }
+        STUDENT_ROWS.flush();
+        System.out.println("--------------------------------------------------------------------------------");
+    }
+
+    private static void viewDepartmentView() {
+        System.out.println("\n--- Students by Department ---");
+        System.out.print("Department: ");
+        String department = scanner.nextLine();
+        long start = System.nanoTime();
+        List<Student> students = repository.getStudentsByDepartment(department);
+        READ_DEPARTMENT_TIMER.record(System.nanoTime() - start);
+        ROWS_READ.add(students.size());
+
+        if (students.isEmpty()) {
+            System.out.println("No students found in '" + department + "'.");
+            return;
+        }
+
+        System.out.println("--------------------------------------------------------------------------------");
+        for (Student s : students) {
+            STUDENT_ROWS.add(s.getStudentID()).add(s.getName()).add(s.getDepartment()).add(s.getMarks()).endRow();
         }
+        STUDENT_ROWS.flush();
         System.out.println("--------------------------------------------------------------------------------");
     }
 
+    private static void viewTopStudentsView() {
+        System.out.println("\n--- Top Students per Department ---");
+        try {
+            System.out.print("How many per department: ");
+            int n = scanner.nextInt();
+            scanner.nextLine();
+
+            long start = System.nanoTime();
+            Map<String, List<Student>> top = repository.topStudentsByDepartment(Math.max(0, n));
+            TOP_TIMER.record(System.nanoTime() - start);
+            for (List<Student> students : top.values()) {
+                ROWS_READ.add(students.size());
+            }
+            if (top.isEmpty()) {
+                System.out.println("No student records found.");
+                return;
+            }
+
+            for (Map.Entry<String, List<Student>> entry : top.entrySet()) {
+                STUDENT_ROWS.line("");
+                STUDENT_ROWS.line("[" + entry.getKey() + "]");
+                for (Student s : entry.getValue()) {
+                    STUDENT_ROWS.add(s.getStudentID()).add(s.getName()).add(s.getDepartment()).add(s.getMarks()).endRow();
+                }
+            }
+            STUDENT_ROWS.flush();
+        } catch (java.util.InputMismatchException e) {
+            System.err.println("[ERROR] Invalid input. Please enter a number.");
+            scanner.nextLine();
+        }
+    }
+
+    private static void showStatsView() {
+        System.out.println("\n--- Runtime Stats ---");
+        Metrics.printSummary();
+    }
+
     private static void updateStudentView() {
         System.out.println("\n--- Update Student Details ---");
         try {
@@ -311,9 +2621,13 @@ public class Main{
             double marks = scanner.nextDouble();
             scanner.nextLine();
 
-            if (controller.updateStudent(id, name, department, marks)) {
+            long start = System.nanoTime();
+            boolean updated = repository.updateStudent(id, name, department, marks);
+            UPDATE_TIMER.record(System.nanoTime() - start);
+            if (updated) {
                 System.out.println("[SUCCESS] Student ID " + id + " updated successfully.");
             } else {
+                FAILED.increment();
                 System.out.println("[FAILED] Could not find or update student ID " + id + ".");
             }
         } catch (java.util.InputMismatchException e) {
@@ -329,9 +2643,13 @@ public class Main{
             int id = scanner.nextInt();
             scanner.nextLine();
 
-            if (controller.deleteStudent(id)) {
+            long start = System.nanoTime();
+            boolean deleted = repository.deleteStudent(id);
+            DELETE_TIMER.record(System.nanoTime() - start);
+            if (deleted) {
                 System.out.println("[SUCCESS] Student ID " + id + " deleted successfully.");
             } else {
+                FAILED.increment();
                 System.out.println("[FAILED] Could not find or delete student ID " + id + ".");
             }
         } catch (java.util.InputMismatchException e) {
@@ -339,4 +2657,239 @@ public class Main{
             scanner.nextLine();
         }
     }
+
+    /**
+     * Times each controller CRUD path 'ops' times and prints one JSON line per
+     * path. Rows it creates are deleted again. Use -Ddb.mode=embedded to run
+     * it without a MySQL server.
+     */
+    private static void runBenchmarks(int ops) {
+        benchmarkChangeFeed(ops * 100);
+
+        // Update and delete touch only the rows inserted here, never existing students. In
+        // write-behind mode the IDs are assigned at flush time, so they come from the change feed.
+        String department = "Benchmark " + Long.toHexString(System.nanoTime());
+        List<Integer> created = Collections.synchronizedList(new ArrayList<>());
+        ChangeFeed<StudentChange>.Subscription subscription = !DbConfig.WRITE_BEHIND ? null
+            : controller.changes().subscribe("bench-ids", change -> {
+                if (change.type == StudentChange.Type.INSERT && change.studentID > 0
+                        && department.equals(change.department)) {
+                    created.add(change.studentID);
+                }
+            });
+
+        int added = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            int id = controller.insertStudent(new Student("Bench Student " + i, department, i % 100));
+            if (id > 0) {
+                created.add(id);
+            }
+            if (id >= 0) {
+                added++;
+            }
+        }
+        printResult("student.add", ops, System.nanoTime() - start);
+        if (subscription != null) {
+            // In write-behind mode the loop above only timed the acknowledgements
+            start = System.nanoTime();
+            controller.flushPendingWrites();
+            printResult("student.add.drain", ops, System.nanoTime() - start);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (created.size() < added && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            subscription.close();
+        }
+        if (created.size() < added) {
+            System.err.println("Benchmark: only " + created.size() + " of " + added
+                + " new StudentIDs are known; update/delete cover those.");
+        }
+
+        start = System.nanoTime();
+        List<Student> all = controller.getAllStudents();
+        printResult("student.getAll", all.size(), System.nanoTime() - start);
+
+        List<Integer> ids;
+        synchronized (created) {
+            ids = new ArrayList<>(created);
+        }
+        start = System.nanoTime();
+        for (int id : ids) {
+            controller.updateStudent(id, "Bench Student " + id, department, 50.0);
+        }
+        controller.flushPendingWrites();
+        printResult("student.update", ids.size(), System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int id : ids) {
+            controller.deleteStudent(id);
+        }
+        controller.flushPendingWrites();
+        printResult("student.delete", ids.size(), System.nanoTime() - start);
+
+        benchmarkDepartmentQueries(Math.max(1, ops / 1000));
+    }
+
+    /**
+     * Compares a full scan against the (Department, Marks) index for the same
+     * per-department query, plus the top-10 query. Seed the table first
+     * (e.g. "Main seed 10000000") for meaningful numbers.
+     */
+    private static void benchmarkDepartmentQueries(int rounds) {
+        List<String> departments = controller.getDepartments();
+        if (departments.isEmpty()) {
+            return;
+        }
+        long scanNanos = 0;
+        long seekNanos = 0;
+        int queries = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (String department : departments) {
+                long start = System.nanoTime();
+                int scanned = controller.getStudentsByDepartmentWithoutIndex(department).size();
+                scanNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int seeked = controller.getStudentsByDepartment(department).size();
+                seekNanos += System.nanoTime() - start;
+
+                if (scanned != seeked) {
+                    System.err.println("Scan and index results differ for " + department);
+                }
+                queries++;
+            }
+        }
+        printResult("student.byDepartment.scan", queries, scanNanos);
+        printResult("student.byDepartment.index", queries, seekNanos);
+
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            controller.topStudentsByDepartment(10);
+        }
+        printResult("student.top10ByDepartment", rounds, System.nanoTime() - start);
+    }
+
+    /**
+     * Measures what the change feed adds to each write: publishing with no
+     * subscriber, and with one subscriber draining on its own thread.
+     */
+    private static void benchmarkChangeFeed(int events) {
+        ChangeFeed<StudentChange> feed = new ChangeFeed<>(4096);
+        StudentChange change = new StudentChange(StudentChange.Type.UPDATE, 1, "Bench", "Benchmarking", 50.0);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            feed.publish(change);
+        }
+        printResult("changeFeed.publish.noSubscriber", events, System.nanoTime() - start);
+
+        LongAdder received = new LongAdder();
+        try (ChangeFeed<StudentChange>.Subscription subscription = feed.subscribe("bench", c -> received.increment())) {
+            start = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                feed.publish(change);
+            }
+            printResult("changeFeed.publish.oneSubscriber", events, System.nanoTime() - start);
+            while (subscription.lag() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+        if (received.sum() != events) {
+            System.err.println("Change feed delivered " + received.sum() + " of " + events + " events");
+        }
+    }
+
+    /**
+     * Measures InMemoryStudentRepository throughput at 1 to 64 threads, for
+     * read-only, 90% read and 50% read mixes of getStudent and updateStudent
+     * over 100,000 students. Each run performs 'ops' operations in total,
+     * split evenly over the threads.
+     */
+    private static void runRepositoryBenchmark(int ops) {
+        int students = 100_000;
+        InMemoryStudentRepository memory = new InMemoryStudentRepository();
+        for (int i = 0; i < students; i++) {
+            memory.addStudent(new Student("Student " + i, "Department " + (i % 10), i % 101));
+        }
+        verifyInvalidIds(memory, students);
+        // Warm-up so the first measured run is not mostly JIT compilation
+        Random warmup = new Random(1);
+        for (int i = 0; i < 2_000_000; i++) {
+            int id = 1 + warmup.nextInt(students);
+            if ((i & 7) == 0) {
+                memory.updateStudent(id, "Student " + id, "Department " + (id % 10), i % 101);
+            } else {
+                memory.getStudent(id);
+            }
+        }
+        for (int readPercent : new int[] {100, 90, 50}) {
+            for (int threads = 1; threads <= 64; threads *= 2) {
+                int perThread = Math.max(1, ops / threads);
+                CountDownLatch ready = new CountDownLatch(threads);
+                CountDownLatch go = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(threads);
+                for (int t = 0; t < threads; t++) {
+                    long seed = t * 31L + readPercent;
+                    Thread worker = new Thread(() -> {
+                        Random random = new Random(seed);
+                        ready.countDown();
+                        try {
+                            go.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        for (int i = 0; i < perThread; i++) {
+                            int id = 1 + random.nextInt(students);
+                            if (random.nextInt(100) < readPercent) {
+                                memory.getStudent(id);
+                            } else {
+                                memory.updateStudent(id, "Student " + id, "Department " + (id % 10), i % 101);
+                            }
+                        }
+                        done.countDown();
+                    });
+                    worker.start();
+                }
+                try {
+                    ready.await();
+                    long start = System.nanoTime();
+                    go.countDown();
+                    done.await();
+                    printThroughput("repository.read" + readPercent, threads, perThread * threads,
+                                    System.nanoTime() - start);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * IDs below 1 are never issued, and 0 doubles as the empty-slot key, so
+     * they must miss on every path without touching the stored count.
+     */
+    private static void verifyInvalidIds(InMemoryStudentRepository memory, int expectedSize) {
+        for (int id : new int[] {0, -1, Integer.MIN_VALUE}) {
+            for (int i = 0; i < 200; i++) {
+                if (memory.deleteStudent(id) || memory.updateStudent(id, "x", "x", 0) || memory.getStudent(id) != null) {
+                    throw new IllegalStateException("Repository accepted invalid ID " + id);
+                }
+            }
+        }
+        if (memory.size() != expectedSize) {
+            throw new IllegalStateException("Repository size " + memory.size() + " after invalid IDs, expected " + expectedSize);
+        }
+    }
+
+    private static void printThroughput(String name, int threads, long ops, long nanos) {
+        System.out.printf("{\"benchmark\":\"%s\",\"threads\":%d,\"ops\":%d,\"opsPerSec\":%.0f}%n",
+            name, threads, ops, ops * 1e9 / Math.max(1, nanos));
+    }
+
+    private static void printResult(String name, int ops, long nanos) {
+        System.out.printf("{\"benchmark\":\"%s\",\"ops\":%d,\"usPerOp\":%.2f}%n",
+            name, ops, nanos / 1000.0 / Math.max(1, ops));
+    }
 }
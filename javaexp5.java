@@ -1,7 +1,41 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 // 1. Create the Employee Model Class
 class Employee {
@@ -26,9 +60,790 @@ class Employee {
     }
 }
 
+// 7. Radix sorting on precomputed keys
+/**
+ * Sorts employees by encoding each one's sort fields into a single long key
+ * once, then running a stable LSD radix sort over the keys. No comparator or
+ * getter runs inside the sort loop.
+ *
+ * Keys compare as unsigned longs. Names are replaced by their rank among the
+ * distinct names, so a String comparison happens only while ranking.
+ */
+class EmployeeRadixSort {
+
+    static void byName(List<Employee> employees) {
+        int[] ranks = nameRanks(employees);
+        long[] keys = new long[employees.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ranks[i];
+        }
+        apply(employees, sortedOrder(keys));
+    }
+
+    static void byAge(List<Employee> employees) {
+        long[] keys = new long[employees.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ageBits(employees.get(i).getAge());
+        }
+        apply(employees, sortedOrder(keys));
+    }
+
+    static void bySalaryDescending(List<Employee> employees) {
+        long[] keys = new long[employees.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ~salaryBits(employees.get(i).getSalary());
+        }
+        apply(employees, sortedOrder(keys));
+    }
+
+    static void byAgeThenName(List<Employee> employees) {
+        int[] ranks = nameRanks(employees);
+        long[] keys = new long[employees.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ageBits(employees.get(i).getAge()) << 32 | ranks[i];
+        }
+        apply(employees, sortedOrder(keys));
+    }
+
+    /** Maps an int so that unsigned order matches signed order. */
+    static long ageBits(int age) {
+        return (age ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    /** Maps a double to a long whose unsigned order matches Double.compare. */
+    static long salaryBits(double salary) {
+        long bits = Double.doubleToLongBits(salary);
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    /** Rank of each employee's name among the distinct names, in String.compareTo order. */
+    private static int[] nameRanks(List<Employee> employees) {
+        Map<String, Integer> rankByName = new HashMap<>();
+        for (Employee e : employees) {
+            rankByName.put(e.getName(), 0);
+        }
+        String[] distinct = rankByName.keySet().toArray(new String[0]);
+        Arrays.sort(distinct);
+        for (int rank = 0; rank < distinct.length; rank++) {
+            rankByName.put(distinct[rank], rank);
+        }
+        int[] ranks = new int[employees.size()];
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = rankByName.get(employees.get(i).getName());
+        }
+        return ranks;
+    }
+
+    /**
+     * Stable LSD radix sort, one byte per pass, low byte first. Passes where
+     * every key has the same byte are skipped.
+     * @return The positions of the keys in sorted order.
+     */
+    static int[] sortedOrder(long[] keys) {
+        int n = keys.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        long[] srcKeys = keys.clone(), dstKeys = new long[n];
+        int[] dstOrder = new int[n];
+        int[] counts = new int[257];
+
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) (srcKeys[i] >>> shift & 0xFF) + 1]++;
+            }
+            if (n > 0 && counts[(int) (srcKeys[0] >>> shift & 0xFF) + 1] == n) {
+                continue;
+            }
+            for (int b = 0; b < 256; b++) {
+                counts[b + 1] += counts[b];
+            }
+            for (int i = 0; i < n; i++) {
+                int slot = counts[(int) (srcKeys[i] >>> shift & 0xFF)]++;
+                dstKeys[slot] = srcKeys[i];
+                dstOrder[slot] = order[i];
+            }
+            long[] swapKeys = srcKeys; srcKeys = dstKeys; dstKeys = swapKeys;
+            int[] swapOrder = order; order = dstOrder; dstOrder = swapOrder;
+        }
+        return order;
+    }
+
+    private static void apply(List<Employee> employees, int[] order) {
+        Employee[] snapshot = employees.toArray(new Employee[0]);
+        for (int i = 0; i < order.length; i++) {
+            employees.set(i, snapshot[order[i]]);
+        }
+    }
+}
+
+// 8. Index views: many sort orders over one list, none of them destroyed by the others
+/**
+ * Keeps employees in insertion order and, for each Comparator requested,
+ * caches a permutation array (int[]) of positions in that order. The first
+ * request for a comparator builds its permutation once. Later requests
+ * return a view over the cached array in O(1). add() updates every cached
+ * permutation by binary insertion instead of re-sorting.
+ *
+ * Comparators are cached by identity, so callers should reuse the same
+ * Comparator instance for the same order.
+ */
+class EmployeeIndexViews {
+
+    private static final class Permutation {
+        int[] order;
+        int size;
+    }
+
+    private final List<Employee> employees = new ArrayList<>();
+    private final Map<Comparator<? super Employee>, Permutation> permutations = new HashMap<>();
+
+    EmployeeIndexViews(List<Employee> initial) {
+        employees.addAll(initial);
+    }
+
+    int size() {
+        return employees.size();
+    }
+
+    /**
+     * Adds an employee to the base list and inserts its position into every cached view.
+     * Among equal elements the newcomer goes last, matching a stable sort.
+     */
+    void add(Employee employee) {
+        int position = employees.size();
+        employees.add(employee);
+        for (Map.Entry<Comparator<? super Employee>, Permutation> entry : permutations.entrySet()) {
+            Comparator<? super Employee> comparator = entry.getKey();
+            Permutation p = entry.getValue();
+            int low = 0, high = p.size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparator.compare(employees.get(p.order[mid]), employee) <= 0) low = mid + 1; else high = mid;
+            }
+            if (p.size == p.order.length) {
+                p.order = Arrays.copyOf(p.order, Math.max(16, p.size * 2));
+            }
+            System.arraycopy(p.order, low, p.order, low + 1, p.size - low);
+            p.order[low] = position;
+            p.size++;
+        }
+    }
+
+    /**
+     * @return A read-only list of the employees in comparator order.
+     *         It stays valid and reflects later add() calls.
+     */
+    List<Employee> view(Comparator<? super Employee> comparator) {
+        Permutation p = permutations.computeIfAbsent(comparator, this::buildPermutation);
+        return new AbstractList<Employee>() {
+            @Override
+            public Employee get(int index) {
+                return employees.get(p.order[Objects.checkIndex(index, p.size)]);
+            }
+
+            @Override
+            public int size() {
+                return p.size;
+            }
+        };
+    }
+
+    /** Stable merge sort of the positions 0..n-1 by the comparator. */
+    private Permutation buildPermutation(Comparator<? super Employee> comparator) {
+        int n = employees.size();
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int mid = Math.min(low + width, n), high = Math.min(low + 2 * width, n);
+                int i = low, j = mid, k = low;
+                while (i < mid && j < high) {
+                    buffer[k++] = comparator.compare(employees.get(order[j]), employees.get(order[i])) < 0
+                        ? order[j++] : order[i++];
+                }
+                while (i < mid) buffer[k++] = order[i++];
+                while (j < high) buffer[k++] = order[j++];
+            }
+            int[] swap = order; order = buffer; buffer = swap;
+        }
+        Permutation p = new Permutation();
+        p.order = order;
+        p.size = n;
+        return p;
+    }
+}
+
+// 9. External merge sort: data sets larger than the heap
+/**
+ * Sorts a text file of employees ("name|age|salary" per line) that may not fit
+ * in memory. Input is read in runs that fit the memory budget. Each run is
+ * sorted with the given comparator and spilled to a temp file in compact
+ * binary form (UTF name, int age, double salary). The runs are then k-way
+ * merged through a heap.
+ *
+ * When there are more runs than MAX_FAN_IN, they are merged in several
+ * passes. Equal employees keep their input order. All run files of one
+ * sort() call live in a private directory under tempDir, which is deleted
+ * with everything in it when the call returns or fails.
+ */
+class EmployeeExternalSort {
+
+    static final int MAX_FAN_IN = 64;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Comparator<Employee> comparator;
+    private final long memoryBudgetBytes;
+    private final Path tempDir;
+    private int runsWritten;
+
+    /**
+     * @param memoryBudgetBytes Approximate heap used for the in-memory run.
+     */
+    EmployeeExternalSort(Comparator<Employee> comparator, long memoryBudgetBytes, Path tempDir) {
+        this.comparator = comparator;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.tempDir = tempDir;
+    }
+
+    /** Number of sorted runs spilled by the last sort() call. */
+    int runsWritten() {
+        return runsWritten;
+    }
+
+    void sort(Path input, Path output) throws IOException {
+        runsWritten = 0;
+        Path workDir = Files.createTempDirectory(tempDir, "employee-sort");
+        List<Path> runs = new ArrayList<>();
+        try {
+            try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                List<Employee> run = new ArrayList<>();
+                long runBytes = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) continue;
+                    Employee employee = parse(line);
+                    run.add(employee);
+                    runBytes += estimateSize(employee);
+                    if (runBytes >= memoryBudgetBytes) {
+                        runs.add(spill(run, workDir));
+                        run.clear();
+                        runBytes = 0;
+                    }
+                }
+                if (!run.isEmpty() || runs.isEmpty()) {
+                    runs.add(spill(run, workDir));
+                }
+            }
+            runsWritten = runs.size();
+
+            while (runs.size() > MAX_FAN_IN) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                    List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+                    Path target = Files.createTempFile(workDir, "employee-run", ".bin");
+                    try (DataOutputStream out = openRun(target)) {
+                        merge(group, employee -> writeBinary(out, employee));
+                    }
+                    for (Path run : group) {
+                        Files.deleteIfExists(run);
+                    }
+                    merged.add(target);
+                }
+                runs = merged;
+            }
+
+            try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                merge(runs, employee -> {
+                    writer.write(employee.getName() + "|" + employee.getAge() + "|" + employee.getSalary());
+                    writer.newLine();
+                });
+            }
+        } catch (Throwable t) {
+            // A failed cleanup must not hide the failure that ended the sort
+            try {
+                deleteRecursively(workDir);
+            } catch (IOException cleanup) {
+                t.addSuppressed(cleanup);
+            }
+            throw t;
+        }
+        deleteRecursively(workDir);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            // Reverse order lists a directory's files before the directory itself
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /** Writes employees in the input format read by sort(). */
+    static void writeText(Iterator<Employee> employees, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (employees.hasNext()) {
+                Employee e = employees.next();
+                writer.write(e.getName() + "|" + e.getAge() + "|" + e.getSalary());
+                writer.newLine();
+            }
+        }
+    }
+
+    static Employee parse(String line) {
+        int first = line.indexOf('|');
+        int second = line.indexOf('|', first + 1);
+        if (first < 0 || second < 0) {
+            throw new IllegalArgumentException("Invalid employee line: " + line);
+        }
+        return new Employee(line.substring(0, first),
+            Integer.parseInt(line.substring(first + 1, second)),
+            Double.parseDouble(line.substring(second + 1)));
+    }
+
+    /** Rough heap footprint: Employee object, String object and its Latin-1 bytes, list slot. */
+    private static long estimateSize(Employee employee) {
+        return 32 + 24 + 16 + employee.getName().length() + 8;
+    }
+
+    private Path spill(List<Employee> run, Path workDir) throws IOException {
+        run.sort(comparator);
+        Path file = Files.createTempFile(workDir, "employee-run", ".bin");
+        try (DataOutputStream out = openRun(file)) {
+            for (Employee employee : run) {
+                writeBinary(out, employee);
+            }
+        }
+        return file;
+    }
+
+    private static DataOutputStream openRun(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static void writeBinary(DataOutputStream out, Employee employee) throws IOException {
+        out.writeUTF(employee.getName());
+        out.writeInt(employee.getAge());
+        out.writeDouble(employee.getSalary());
+    }
+
+    private interface EmployeeSink {
+        void accept(Employee employee) throws IOException;
+    }
+
+    /**
+     * Merges sorted runs into the sink. Ties go to the earlier run, which
+     * keeps the merge stable because runs are in input order.
+     */
+    private void merge(List<Path> runs, EmployeeSink sink) throws IOException {
+        List<RunCursor> cursors = new ArrayList<>();
+        PriorityQueue<RunCursor> heap = new PriorityQueue<>(Math.max(1, runs.size()),
+            (a, b) -> {
+                int byEmployee = comparator.compare(a.head, b.head);
+                return byEmployee != 0 ? byEmployee : Integer.compare(a.index, b.index);
+            });
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                RunCursor cursor = new RunCursor(runs.get(i), i);
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                }
+            }
+            while (!heap.isEmpty()) {
+                RunCursor cursor = heap.poll();
+                sink.accept(cursor.head);
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                }
+            }
+        } finally {
+            for (RunCursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+    }
+
+    private static class RunCursor implements Closeable {
+        final int index;
+        private final DataInputStream in;
+        Employee head;
+
+        RunCursor(Path file, int index) throws IOException {
+            this.index = index;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+        }
+
+        boolean advance() throws IOException {
+            try {
+                head = new Employee(in.readUTF(), in.readInt(), in.readDouble());
+                return true;
+            } catch (EOFException end) {
+                head = null;
+                return false;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
+
+// 10. Parallel sort with sort keys extracted once per employee
+/**
+ * Multi-core sorting for large employee lists. Each employee's sort key is
+ * extracted once, in parallel, into an array snapshot. Arrays.parallelSort
+ * then orders the snapshot using only the precomputed keys, and the list is
+ * rewritten from it.
+ *
+ * Arrays.parallelSort on objects is a stable merge sort, so the result is
+ * deterministic: the same as List.sort with the equivalent comparator. It
+ * runs on the common ForkJoinPool.
+ */
+class EmployeeParallelSort {
+
+    private static final class Keyed<K> {
+        final K key;
+        final Employee employee;
+
+        Keyed(K key, Employee employee) {
+            this.key = key;
+            this.employee = employee;
+        }
+    }
+
+    /** Age plus collation key of the name, for the age-then-name order. */
+    private static final class AgeNameKey implements Comparable<AgeNameKey> {
+        final int age;
+        final CollationKey name;
+
+        AgeNameKey(int age, CollationKey name) {
+            this.age = age;
+            this.name = name;
+        }
+
+        @Override
+        public int compareTo(AgeNameKey other) {
+            int byAge = Integer.compare(age, other.age);
+            return byAge != 0 ? byAge : name.compareTo(other.name);
+        }
+    }
+
+    /**
+     * Sorts by name using locale-aware collation. The CollationKeys are
+     * computed once per employee rather than once per comparison.
+     */
+    static void byName(List<Employee> employees, Collator collator) {
+        ThreadLocal<Collator> collators = perThread(collator);
+        sortByKey(employees, e -> collators.get().getCollationKey(e.getName()), Comparator.naturalOrder());
+    }
+
+    static void byAgeThenName(List<Employee> employees, Collator collator) {
+        ThreadLocal<Collator> collators = perThread(collator);
+        sortByKey(employees,
+            e -> new AgeNameKey(e.getAge(), collators.get().getCollationKey(e.getName())),
+            Comparator.naturalOrder());
+    }
+
+    static void bySalaryDescending(List<Employee> employees) {
+        sortByKey(employees, Employee::getSalary, Comparator.<Double>naturalOrder().reversed());
+    }
+
+    /**
+     * Extracts every key in parallel, sorts the snapshot in parallel and writes it back.
+     */
+    static <K> void sortByKey(List<Employee> employees, Function<? super Employee, ? extends K> keyExtractor,
+                              Comparator<? super K> keyOrder) {
+        Employee[] snapshot = employees.toArray(new Employee[0]);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Keyed<K>[] keyed = new Keyed[snapshot.length];
+        IntStream.range(0, snapshot.length).parallel()
+            .forEach(i -> keyed[i] = new Keyed<>(keyExtractor.apply(snapshot[i]), snapshot[i]));
+
+        Arrays.parallelSort(keyed, (a, b) -> keyOrder.compare(a.key, b.key));
+
+        for (int i = 0; i < keyed.length; i++) {
+            employees.set(i, keyed[i].employee);
+        }
+    }
+
+    /** Collator is not thread-safe, so each worker thread gets its own clone. */
+    private static ThreadLocal<Collator> perThread(Collator collator) {
+        return ThreadLocal.withInitial(() -> (Collator) collator.clone());
+    }
+}
+
+// 11. Off-heap store: tens of millions of employees without tens of millions of objects
+/**
+ * Keeps employees outside the Java heap, in direct ByteBuffers, so a large
+ * payroll adds almost nothing for the garbage collector to trace. Each
+ * employee is a fixed 24-byte record:
+ *
+ *   offset  0  long    name address in the string arena (chunk << 32 | position)
+ *   offset  8  int     name length in UTF-8 bytes
+ *   offset 12  int     age
+ *   offset 16  double  salary
+ *
+ * Each record's name is appended to an append-only arena as UTF-8; equal
+ * names are not shared. Records and arena are both split into chunks, so the
+ * store is not limited to 2 GB.
+ * Employees are read through a Flyweight, which has the same getters as
+ * Employee but only points at a record. Sorting and filtering produce int
+ * arrays of record indexes and never move or copy records.
+ *
+ * Direct buffers are released when the store becomes unreachable and the
+ * collector runs their cleaners; there is no explicit free.
+ */
+class OffHeapEmployeeStore {
+    static final int RECORD_BYTES = 24;
+    private static final int RECORDS_PER_CHUNK_SHIFT = 20;               // 1M records, 24 MB per chunk
+    private static final int RECORDS_PER_CHUNK = 1 << RECORDS_PER_CHUNK_SHIFT;
+    private static final int ARENA_CHUNK_BYTES = 16 * 1024 * 1024;
+
+    /** A movable view of one record, with the getters of Employee. */
+    final class Flyweight {
+        private ByteBuffer chunk;
+        private int base;
+
+        /** Points this flyweight at record 'index' and returns it. */
+        Flyweight at(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Record " + index + " of " + size);
+            }
+            chunk = records.get(index >>> RECORDS_PER_CHUNK_SHIFT);
+            base = (index & (RECORDS_PER_CHUNK - 1)) * RECORD_BYTES;
+            return this;
+        }
+
+        /** Decodes the name; this allocates the String, so prefer the other getters in hot loops. */
+        public String getName() {
+            long address = chunk.getLong(base);
+            int length = chunk.getInt(base + 8);
+            byte[] bytes = new byte[length];
+            ByteBuffer arena = arenas.get((int) (address >>> 32)).duplicate();
+            arena.position((int) address);
+            arena.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public int getAge() {
+            return chunk.getInt(base + 12);
+        }
+
+        public double getSalary() {
+            return chunk.getDouble(base + 16);
+        }
+
+        /** @return A heap Employee with the same values. */
+        Employee toEmployee() {
+            return new Employee(getName(), getAge(), getSalary());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s | Age: %-3d | Salary: $%,.2f", getName(), getAge(), getSalary());
+        }
+    }
+
+    private final List<ByteBuffer> records = new ArrayList<>();
+    private final List<ByteBuffer> arenas = new ArrayList<>();
+    private ByteBuffer arena;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /** @return Bytes of direct memory allocated for records and names. */
+    long offHeapBytes() {
+        return (long) records.size() * RECORDS_PER_CHUNK * RECORD_BYTES + (long) arenas.size() * ARENA_CHUNK_BYTES;
+    }
+
+    /** Appends an employee. @return Its record index. */
+    int add(String name, int age, double salary) {
+        byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > ARENA_CHUNK_BYTES) {
+            throw new IllegalArgumentException("Name longer than " + ARENA_CHUNK_BYTES + " bytes");
+        }
+        if (arena == null || arena.remaining() < utf8.length) {
+            arena = ByteBuffer.allocateDirect(ARENA_CHUNK_BYTES);
+            arenas.add(arena);
+        }
+        long address = (long) (arenas.size() - 1) << 32 | arena.position();
+        arena.put(utf8);
+
+        int index = size;
+        if ((index & (RECORDS_PER_CHUNK - 1)) == 0) {
+            records.add(ByteBuffer.allocateDirect(RECORDS_PER_CHUNK * RECORD_BYTES).order(ByteOrder.nativeOrder()));
+        }
+        ByteBuffer chunk = records.get(index >>> RECORDS_PER_CHUNK_SHIFT);
+        int base = (index & (RECORDS_PER_CHUNK - 1)) * RECORD_BYTES;
+        chunk.putLong(base, address);
+        chunk.putInt(base + 8, utf8.length);
+        chunk.putInt(base + 12, age);
+        chunk.putDouble(base + 16, salary);
+        size++;
+        return index;
+    }
+
+    int add(Employee employee) {
+        return add(employee.getName(), employee.getAge(), employee.getSalary());
+    }
+
+    /** @return A new flyweight; keep one per thread and move it with at(). */
+    Flyweight flyweight() {
+        return new Flyweight();
+    }
+
+    // --- Sorting: each returns record indexes in order, stable like List.sort ---
+
+    int[] sortedByAge() {
+        long[] keys = new long[size];
+        Flyweight e = flyweight();
+        for (int i = 0; i < size; i++) {
+            keys[i] = EmployeeRadixSort.ageBits(e.at(i).getAge());
+        }
+        return EmployeeRadixSort.sortedOrder(keys);
+    }
+
+    int[] sortedBySalaryDescending() {
+        long[] keys = new long[size];
+        Flyweight e = flyweight();
+        for (int i = 0; i < size; i++) {
+            keys[i] = ~EmployeeRadixSort.salaryBits(e.at(i).getSalary());
+        }
+        return EmployeeRadixSort.sortedOrder(keys);
+    }
+
+    /**
+     * Orders by the UTF-8 bytes of the name, which is String.compareTo order
+     * for every name without supplementary characters. A radix sort on the
+     * first eight bytes does most of the work; only runs that share those
+     * bytes are compared in full, without decoding any String.
+     */
+    int[] sortedByName() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = namePrefix(i);
+        }
+        int[] order = EmployeeRadixSort.sortedOrder(keys);
+        int[] scratch = new int[size];
+        int runStart = 0;
+        for (int i = 1; i <= size; i++) {
+            if (i == size || keys[order[i]] != keys[order[runStart]]) {
+                if (i - runStart > 1) {
+                    mergeSortByName(order, scratch, runStart, i);
+                }
+                runStart = i;
+            }
+        }
+        return order;
+    }
+
+    /** @return Indexes of the records accepted by the filter, in store order. */
+    int[] filter(Predicate<? super Flyweight> filter) {
+        int[] matches = new int[16];
+        int count = 0;
+        Flyweight e = flyweight();
+        for (int i = 0; i < size; i++) {
+            if (filter.test(e.at(i))) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /** First eight name bytes, big-endian and zero-padded, so unsigned order is byte order. */
+    private long namePrefix(int index) {
+        ByteBuffer chunk = records.get(index >>> RECORDS_PER_CHUNK_SHIFT);
+        int base = (index & (RECORDS_PER_CHUNK - 1)) * RECORD_BYTES;
+        long address = chunk.getLong(base);
+        int length = Math.min(8, chunk.getInt(base + 8));
+        ByteBuffer names = arenas.get((int) (address >>> 32));
+        int position = (int) address;
+        long prefix = 0;
+        for (int i = 0; i < 8; i++) {
+            prefix = prefix << 8 | (i < length ? names.get(position + i) & 0xFF : 0);
+        }
+        return prefix;
+    }
+
+    /** Unsigned byte-wise comparison of two names in the arena, shorter first on a common prefix. */
+    private int compareNames(int a, int b) {
+        ByteBuffer chunkA = records.get(a >>> RECORDS_PER_CHUNK_SHIFT);
+        ByteBuffer chunkB = records.get(b >>> RECORDS_PER_CHUNK_SHIFT);
+        int baseA = (a & (RECORDS_PER_CHUNK - 1)) * RECORD_BYTES;
+        int baseB = (b & (RECORDS_PER_CHUNK - 1)) * RECORD_BYTES;
+        long addressA = chunkA.getLong(baseA);
+        long addressB = chunkB.getLong(baseB);
+        int lengthA = chunkA.getInt(baseA + 8);
+        int lengthB = chunkB.getInt(baseB + 8);
+        ByteBuffer namesA = arenas.get((int) (addressA >>> 32));
+        ByteBuffer namesB = arenas.get((int) (addressB >>> 32));
+        int n = Math.min(lengthA, lengthB);
+        for (int i = 0; i < n; i++) {
+            int byA = namesA.get((int) addressA + i) & 0xFF;
+            int byB = namesB.get((int) addressB + i) & 0xFF;
+            if (byA != byB) {
+                return byA - byB;
+            }
+        }
+        return lengthA - lengthB;
+    }
+
+    /** Stable top-down merge sort of order[from, to) by full name. */
+    private void mergeSortByName(int[] order, int[] scratch, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSortByName(order, scratch, from, mid);
+        mergeSortByName(order, scratch, mid, to);
+        if (compareNames(order[mid - 1], order[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            order[k++] = compareNames(scratch[j], scratch[i]) < 0 ? scratch[j++] : scratch[i++];
+        }
+        while (i < mid) {
+            order[k++] = scratch[i++];
+        }
+        while (j < to) {
+            order[k++] = scratch[j++];
+        }
+    }
+}
+
 public class Main{
 
     public static void main(String[] args) {
+        // Run "Main bench [employees]" to time the sort engines on generated data instead
+        if (args.length > 0 && args[0].equals("bench")) {
+            int count = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+            runBenchmarks(count);
+            runOffHeapBenchmark(count);
+            return;
+        }
+        // "Main extsort <employees> <budgetMB>" sorts a generated file with the external sort
+        if (args.length > 0 && args[0].equals("extsort")) {
+            runExternalSortBenchmark(args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L,
+                args.length > 2 ? Long.parseLong(args[2]) : 32);
+            return;
+        }
+
         // 2. Store multiple Employee objects in a List<Employee>
         List<Employee> employees = new ArrayList<>();
         employees.add(new Employee("Charlie", 30, 60000.00));
@@ -86,5 +901,278 @@ public class Main{
         System.out.println("--- Sorted by Age then Name ---");
         employees.forEach(System.out::println);
         System.out.println("-------------------------------\n");
+
+
+        // ----------------------------------------------------
+        // 8. Index Views: several orders at once, without re-sorting
+        // ----------------------------------------------------
+        Comparator<Employee> byName = Comparator.comparing(Employee::getName);
+        Comparator<Employee> bySalaryDesc = Comparator.comparingDouble(Employee::getSalary).reversed();
+        EmployeeIndexViews views = new EmployeeIndexViews(employees);
+        List<Employee> nameView = views.view(byName);
+        List<Employee> salaryView = views.view(bySalaryDesc);
+        views.add(new Employee("Eve", 35, 82000.00));
+
+        System.out.println("--- Index View: by Name (after adding Eve) ---");
+        nameView.forEach(System.out::println);
+        System.out.println("--- Index View: by Salary (Descending) ---");
+        salaryView.forEach(System.out::println);
+        System.out.println("----------------------------------------------\n");
+    }
+
+    /**
+     * Generates 'count' employees. Names repeat, and ages and salaries fall in realistic ranges.
+     */
+    static List<Employee> generateEmployees(int count, long seed) {
+        Random random = new Random(seed);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee("Emp" + random.nextInt(100_000), 20 + random.nextInt(45),
+                Math.round((30_000 + random.nextDouble() * 120_000) * 100) / 100.0));
+        }
+        return employees;
+    }
+
+    /**
+     * Times each comparator sort against its radix-sort counterpart and prints
+     * one JSON line per measurement. Both must produce the same order.
+     */
+    static void runBenchmarks(int count) {
+        List<Employee> source = generateEmployees(count, 42);
+        String[] names = {"name", "age", "salaryDesc", "ageThenName"};
+        List<Comparator<Employee>> comparators = Arrays.asList(
+            (e1, e2) -> e1.getName().compareTo(e2.getName()),
+            Comparator.comparingInt(Employee::getAge),
+            Comparator.comparingDouble(Employee::getSalary).reversed(),
+            Comparator.comparingInt(Employee::getAge).thenComparing(Employee::getName));
+        List<Consumer<List<Employee>>> radixSorts = Arrays.asList(
+            EmployeeRadixSort::byName,
+            EmployeeRadixSort::byAge,
+            EmployeeRadixSort::bySalaryDescending,
+            EmployeeRadixSort::byAgeThenName);
+
+        for (int s = 0; s < names.length; s++) {
+            long listNanos = 0, radixNanos = 0;
+            for (int round = 0; round < 5; round++) { // the first rounds warm up the JIT
+                List<Employee> expected = new ArrayList<>(source);
+                long start = System.nanoTime();
+                expected.sort(comparators.get(s));
+                listNanos = System.nanoTime() - start;
+
+                List<Employee> actual = new ArrayList<>(source);
+                start = System.nanoTime();
+                radixSorts.get(s).accept(actual);
+                radixNanos = System.nanoTime() - start;
+
+                for (int i = 0; i < count; i++) {
+                    if (expected.get(i) != actual.get(i)) {
+                        throw new IllegalStateException("Radix order differs for " + names[s] + " at " + i);
+                    }
+                }
+            }
+            printResult("sort." + names[s] + ".listSort", count, listNanos);
+            printResult("sort." + names[s] + ".radix", count, radixNanos);
+        }
+
+        // Index views: first request sorts once, switching afterwards is a lookup
+        EmployeeIndexViews views = new EmployeeIndexViews(source);
+        long start = System.nanoTime();
+        for (Comparator<Employee> comparator : comparators) {
+            views.view(comparator);
+        }
+        printResult("views.build4", count, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            views.view(comparators.get(i % comparators.size())).get(i % count);
+        }
+        printResult("views.switch1000", count, System.nanoTime() - start);
+
+        List<Employee> extra = generateEmployees(1000, 7);
+        start = System.nanoTime();
+        extra.forEach(views::add);
+        printResult("views.add1000", count, System.nanoTime() - start);
+
+        // Parallel sort with hoisted keys vs List.sort with a collating comparator.
+        // Core count is set with -Djava.util.concurrent.ForkJoinPool.common.parallelism=N.
+        Collator collator = Collator.getInstance(Locale.US);
+        Comparator<Employee> collated = Comparator.comparingInt(Employee::getAge)
+            .thenComparing(Employee::getName, collator);
+        long sequentialNanos = 0, parallelNanos = 0;
+        for (int round = 0; round < 3; round++) {
+            List<Employee> expected = new ArrayList<>(source);
+            start = System.nanoTime();
+            expected.sort(collated);
+            sequentialNanos = System.nanoTime() - start;
+
+            List<Employee> actual = new ArrayList<>(source);
+            start = System.nanoTime();
+            EmployeeParallelSort.byAgeThenName(actual, collator);
+            parallelNanos = System.nanoTime() - start;
+
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Parallel sort order differs from List.sort.");
+            }
+        }
+        int cores = ForkJoinPool.getCommonPoolParallelism();
+        printResult("sort.ageThenNameCollated.listSort", count, sequentialNanos);
+        printResult("sort.ageThenNameCollated.parallel" + cores, count, parallelNanos);
+    }
+
+    /**
+     * Runs load, sort by age, a filter and a full GC on the same generated
+     * employees, first as a heap List and then in an OffHeapEmployeeStore,
+     * reporting time and the collectors' count and time for each phase (from
+     * the GarbageCollectorMXBeans). The full GC runs with the data still
+     * reachable, which is where millions of heap objects cost the most.
+     * Run with a fixed heap, e.g. -Xms4g -Xmx4g, for comparable numbers.
+     */
+    static void runOffHeapBenchmark(int count) {
+        verifyOffHeapOrder(Math.min(count, 200_000));
+
+        List<Employee> list = new ArrayList<>(count);
+        long[] gc = gcTotals();
+        long start = System.nanoTime();
+        Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            list.add(new Employee("Emp" + random.nextInt(100_000), 20 + random.nextInt(45),
+                Math.round((30_000 + random.nextDouble() * 120_000) * 100) / 100.0));
+        }
+        gc = printGcResult("offheap.heapList.load", count, start, gc);
+        start = System.nanoTime();
+        list.sort(Comparator.comparingInt(Employee::getAge));
+        gc = printGcResult("offheap.heapList.sortByAge", count, start, gc);
+        start = System.nanoTime();
+        int matches = 0;
+        for (Employee e : list) {
+            if (e.getAge() < 30 && e.getSalary() > 100_000) {
+                matches++;
+            }
+        }
+        gc = printGcResult("offheap.heapList.filter", count, start, gc);
+        start = System.nanoTime();
+        System.gc();
+        printGcResult("offheap.heapList.fullGc", count, start, gc);
+        int heapMatches = matches;
+        list = null;
+        System.gc();
+
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore();
+        gc = gcTotals();
+        start = System.nanoTime();
+        random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            store.add("Emp" + random.nextInt(100_000), 20 + random.nextInt(45),
+                Math.round((30_000 + random.nextDouble() * 120_000) * 100) / 100.0);
+        }
+        gc = printGcResult("offheap.store.load", count, start, gc);
+        start = System.nanoTime();
+        int[] byAge = store.sortedByAge();
+        gc = printGcResult("offheap.store.sortByAge", count, start, gc);
+        start = System.nanoTime();
+        int[] found = store.filter(e -> e.getAge() < 30 && e.getSalary() > 100_000);
+        gc = printGcResult("offheap.store.filter", count, start, gc);
+        start = System.nanoTime();
+        System.gc();
+        printGcResult("offheap.store.fullGc", count, start, gc);
+
+        if (found.length != heapMatches || byAge.length != store.size()) {
+            throw new IllegalStateException("Off-heap filter found " + found.length + ", heap list " + heapMatches);
+        }
+        System.out.printf("{\"benchmark\":\"offheap.store.size\",\"employees\":%d,\"offHeapBytes\":%d}%n",
+            count, store.offHeapBytes());
+    }
+
+    /** Checks that the store's sorts give exactly the List.sort orders. */
+    static void verifyOffHeapOrder(int count) {
+        List<Employee> employees = generateEmployees(count, 7);
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore();
+        employees.forEach(store::add);
+        List<Comparator<Employee>> comparators = Arrays.asList(
+            Comparator.comparing(Employee::getName),
+            Comparator.comparingInt(Employee::getAge),
+            Comparator.comparingDouble(Employee::getSalary).reversed());
+        List<int[]> orders = Arrays.asList(store.sortedByName(), store.sortedByAge(), store.sortedBySalaryDescending());
+        OffHeapEmployeeStore.Flyweight e = store.flyweight();
+        for (int s = 0; s < comparators.size(); s++) {
+            List<Employee> expected = new ArrayList<>(employees);
+            expected.sort(comparators.get(s));
+            int[] order = orders.get(s);
+            for (int i = 0; i < count; i++) {
+                Employee x = expected.get(i);
+                e.at(order[i]);
+                if (!x.getName().equals(e.getName()) || x.getAge() != e.getAge() || x.getSalary() != e.getSalary()) {
+                    throw new IllegalStateException("Off-heap order " + s + " differs at " + i);
+                }
+            }
+        }
+    }
+
+    /** @return Total collection count and time (ms) over all collectors so far. */
+    static long[] gcTotals() {
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+
+    /** Prints the phase that started at 'start' with the collections since 'before'. @return The new totals. */
+    static long[] printGcResult(String name, int employees, long start, long[] before) {
+        long nanos = System.nanoTime() - start;
+        long[] after = gcTotals();
+        System.out.printf("{\"benchmark\":\"%s\",\"employees\":%d,\"msPerOp\":%.3f,\"gcCount\":%d,\"gcMs\":%d}%n",
+            name, employees, nanos / 1_000_000.0, after[0] - before[0], after[1] - before[1]);
+        return after;
+    }
+
+    /**
+     * Writes 'count' generated employees to a temp file and sorts them by age
+     * then name with the external sort. Run it with an -Xmx well below the
+     * file size to show that the data set does not need to fit in the heap,
+     * e.g. -Xmx32m for 16M employees (~400 MB, over 10x the heap).
+     */
+    static void runExternalSortBenchmark(long count, long budgetMB) {
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"));
+        try {
+            Path input = Files.createTempFile(dir, "employees", ".txt");
+            Path output = Files.createTempFile(dir, "employees-sorted", ".txt");
+            try {
+                Random random = new Random(42);
+                EmployeeExternalSort.writeText(new Iterator<Employee>() {
+                    private long written;
+                    public boolean hasNext() { return written < count; }
+                    public Employee next() {
+                        written++;
+                        return new Employee("Emp" + random.nextInt(100_000), 20 + random.nextInt(45),
+                            Math.round((30_000 + random.nextDouble() * 120_000) * 100) / 100.0);
+                    }
+                }, input);
+
+                EmployeeExternalSort sorter = new EmployeeExternalSort(
+                    Comparator.comparingInt(Employee::getAge).thenComparing(Employee::getName),
+                    budgetMB * 1024 * 1024, dir);
+                long start = System.nanoTime();
+                sorter.sort(input, output);
+                long nanos = System.nanoTime() - start;
+
+                System.out.printf("{\"benchmark\":\"sort.external.ageThenName\",\"employees\":%d,"
+                    + "\"inputBytes\":%d,\"maxHeapBytes\":%d,\"inputToHeap\":%.1f,\"runs\":%d,\"msPerOp\":%.3f}%n",
+                    count, Files.size(input), Runtime.getRuntime().maxMemory(),
+                    (double) Files.size(input) / Runtime.getRuntime().maxMemory(), sorter.runsWritten(),
+                    nanos / 1_000_000.0);
+            } finally {
+                Files.deleteIfExists(input);
+                Files.deleteIfExists(output);
+            }
+        } catch (IOException e) {
+            System.err.println("External sort benchmark failed: " + e.getMessage());
+        }
+    }
+
+    static void printResult(String name, int employees, long nanos) {
+        System.out.printf("{\"benchmark\":\"%s\",\"employees\":%d,\"msPerOp\":%.3f}%n",
+            name, employees, nanos / 1_000_000.0);
     }
 }
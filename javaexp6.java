@@ -1,12 +1,35 @@
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 /**
  * Main application class for Employee Management using file I/O (text format).
@@ -40,16 +63,17 @@ public class Main{
 
         // Static factory method to parse a line from the file back into an Employee object
         public static Employee fromFileString(String line) {
-            String[] parts = line.split("\\|");
-            if (parts.length != 4) {
+            // Walk the '|' delimiters by index; split() would go through a regex and an array
+            int[] bounds = new int[4];
+            if (!EmployeeLineParser.findFields(line, 0, line.length(), bounds)) {
                 throw new IllegalArgumentException("Invalid file format: line has wrong number of fields.");
             }
             try {
                 return new Employee(
-                    parts[0],
-                    parts[1],
-                    parts[2],
-                    Double.parseDouble(parts[3]) // Convert salary string back to double
+                    line.substring(0, bounds[0]),
+                    line.substring(bounds[0] + 1, bounds[1]),
+                    EmployeeLineParser.internDesignation(line, bounds[1] + 1, bounds[2]),
+                    EmployeeLineParser.parseDouble(line, bounds[2] + 1, bounds[3]) // Convert salary back to double
                 );
             } catch (NumberFormatException e) {
                 throw new IllegalArgumentException("Invalid file format: salary is not a number.");
@@ -62,19 +86,575 @@ public class Main{
         }
     }
     
+    // --- Line Parsing ---
+
+    /**
+     * Mutable view of one parsed line, reused for every line of a scan.
+     * Salary and the interned designation are read without allocating.
+     * Name and ID are only turned into Strings when asked for.
+     * Valid only inside the consumer callback.
+     */
+    static class EmployeeRecord {
+        private char[] line;
+        private int nameStart, nameEnd, idStart, idEnd;
+        private String designation;
+        private double salary;
+
+        public String getName() { return new String(line, nameStart, nameEnd - nameStart); }
+        public String getId() { return new String(line, idStart, idEnd - idStart); }
+        public String getDesignation() { return designation; }
+        public double getSalary() { return salary; }
+
+        public Employee toEmployee() {
+            return new Employee(getName(), getId(), designation, salary);
+        }
+    }
+
+    /**
+     * Index-walking parser for the 'name|id|designation|salary' file format.
+     * Scanning a file reads it in large char blocks and parses each line in
+     * place. No String is created per line, the salary is parsed straight from
+     * the chars, and repeated designations share one interned String.
+     */
+    static class EmployeeLineParser {
+        private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+        private static final int MAX_DESIGNATIONS = 4096;
+        private static String[] designations = new String[256];
+        private static int designationCount;
+
+        /**
+         * Finds the end of each of the four fields in text[start..end).
+         * bounds[0..2] receive the positions of the three delimiters and
+         * bounds[3] the end of the salary. Trailing empty fields are ignored,
+         * as split() ignores them.
+         * @return False if the line does not hold exactly four fields.
+         */
+        static boolean findFields(CharSequence text, int start, int end, int[] bounds) {
+            int field = 0;
+            for (int i = start; i < end && field < 4; i++) {
+                if (text.charAt(i) == '|') {
+                    bounds[field++] = i;
+                }
+            }
+            if (field < 3) {
+                return false;
+            }
+            if (field == 3) {
+                bounds[3] = end;
+            } else {
+                for (int i = bounds[3]; i < end; i++) {
+                    if (text.charAt(i) != '|') {
+                        return false;
+                    }
+                }
+            }
+            return bounds[3] > bounds[2] + 1;
+        }
+
+        /**
+         * Parses a decimal such as "52000.5" from text[start..end) without
+         * creating a String. Up to 18 digits and 22 decimal places are handled
+         * directly: the digits form an exact long and one division by an exact
+         * power of ten rounds correctly. Anything else (exponents, "NaN",
+         * surrounding spaces) is passed to Double.parseDouble.
+         */
+        static double parseDouble(CharSequence text, int start, int end) {
+            int i = start;
+            boolean negative = false;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negative = text.charAt(i) == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            for (; i < end; i++) {
+                char c = text.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    if (fractionDigits >= 0) fractionDigits++;
+                } else if (c == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else {
+                    digits = Integer.MAX_VALUE;
+                    break;
+                }
+                if (digits > 18) break;
+            }
+            if (digits == 0 || digits > 18 || fractionDigits > 22 || mantissa > (1L << 53)) {
+                return Double.parseDouble(text.subSequence(start, end).toString());
+            }
+            double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
+        }
+
+        /**
+         * Returns a shared String equal to text[start..end). Lookup compares
+         * chars in place, so a repeated designation costs no allocation. Once
+         * MAX_DESIGNATIONS distinct values are pooled, new values are no longer
+         * interned.
+         */
+        static synchronized String internDesignation(CharSequence text, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+            int mask = designations.length - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                String candidate = designations[slot];
+                if (candidate == null) {
+                    String value = text.subSequence(start, end).toString();
+                    if (designationCount < MAX_DESIGNATIONS) {
+                        designations[slot] = value;
+                        if (++designationCount * 2 > designations.length) {
+                            rehash();
+                        }
+                    }
+                    return value;
+                }
+                if (candidate.hashCode() == hash && regionEquals(candidate, text, start, end)) {
+                    return candidate;
+                }
+            }
+        }
+
+        private static boolean regionEquals(String value, CharSequence text, int start, int end) {
+            if (value.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) != text.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static void rehash() {
+            String[] old = designations;
+            designations = new String[old.length * 2];
+            int mask = designations.length - 1;
+            for (String value : old) {
+                if (value != null) {
+                    int slot = value.hashCode() & mask;
+                    while (designations[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    designations[slot] = value;
+                }
+            }
+        }
+
+        /**
+         * Streams every valid line of the file into 'consumer' through one reused
+         * EmployeeRecord. Blank lines are skipped. Malformed lines go to 'corrupted'.
+         */
+        static void scan(String fileName, Consumer<EmployeeRecord> consumer, Consumer<String> corrupted)
+                throws IOException {
+            char[] buffer = new char[64 * 1024];
+            CharBuffer view = CharBuffer.wrap(buffer);
+            EmployeeRecord record = new EmployeeRecord();
+            int[] bounds = new int[4];
+            int length = 0;
+            int searchFrom = 0;
+
+            try (FileReader reader = new FileReader(fileName)) {
+                while (true) {
+                    int read = reader.read(buffer, length, buffer.length - length);
+                    if (read < 0) {
+                        if (length > 0) {
+                            parseLine(buffer, view, 0, length, record, bounds, consumer, corrupted);
+                        }
+                        return;
+                    }
+                    length += read;
+
+                    int lineStart = 0;
+                    for (int i = searchFrom; i < length; i++) {
+                        if (buffer[i] == '\n') {
+                            int lineEnd = i > lineStart && buffer[i - 1] == '\r' ? i - 1 : i;
+                            parseLine(buffer, view, lineStart, lineEnd, record, bounds, consumer, corrupted);
+                            lineStart = i + 1;
+                        }
+                    }
+
+                    // Keep the unfinished line; grow the buffer if it fills it completely
+                    length -= lineStart;
+                    if (lineStart == 0 && length == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        view = CharBuffer.wrap(buffer);
+                    } else {
+                        System.arraycopy(buffer, lineStart, buffer, 0, length);
+                    }
+                    searchFrom = length;
+                }
+            }
+        }
+
+        private static void parseLine(char[] buffer, CharBuffer view, int start, int end, EmployeeRecord record,
+                                      int[] bounds, Consumer<EmployeeRecord> consumer, Consumer<String> corrupted) {
+            int firstVisible = start;
+            while (firstVisible < end && buffer[firstVisible] <= ' ') {
+                firstVisible++;
+            }
+            if (firstVisible == end) {
+                return; // Skip empty lines
+            }
+            try {
+                if (!findFields(view, start, end, bounds)) {
+                    throw new NumberFormatException();
+                }
+                record.line = buffer;
+                record.nameStart = start;
+                record.nameEnd = bounds[0];
+                record.idStart = bounds[0] + 1;
+                record.idEnd = bounds[1];
+                record.salary = parseDouble(view, bounds[2] + 1, bounds[3]);
+                record.designation = internDesignation(view, bounds[1] + 1, bounds[2]);
+            } catch (NumberFormatException e) {
+                corrupted.accept(new String(buffer, start, end - start));
+                return;
+            }
+            consumer.accept(record);
+        }
+    }
+
+    // --- Console Output ---
+
+    /**
+     * Buffered renderer for the record listing. The column layout is fixed when
+     * the renderer is created. Rows are formatted into one StringBuilder and
+     * reach stdout in 64 KB chunks, not one synchronized println per record.
+     */
+    static class TableRenderer {
+
+        /** One cell of the layout: literal text before it and minimum width, padded on the right. */
+        static final class Column {
+            final String prefix;
+            final int width;
+
+            Column(String prefix, int width) {
+                this.prefix = prefix;
+                this.width = width;
+            }
+        }
+
+        private static final int CHUNK_SIZE = 64 * 1024;
+        private static final String SPACES = "                                                  ";
+
+        private final PrintStream out; // null: whatever System.out is at flush time
+        private final Column[] columns;
+        private final String rowSuffix;
+        private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 256);
+        private final char groupingSeparator;
+        private final char decimalSeparator;
+        private int column;
+
+        TableRenderer(String rowSuffix, Column... columns) {
+            this(null, rowSuffix, columns);
+        }
+
+        TableRenderer(PrintStream out, String rowSuffix, Column... columns) {
+            this.out = out;
+            this.rowSuffix = rowSuffix;
+            this.columns = columns;
+            // Same separators String.format would use for %,.2f in the default locale
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+            this.groupingSeparator = symbols.getGroupingSeparator();
+            this.decimalSeparator = symbols.getDecimalSeparator();
+        }
+
+        TableRenderer add(String value) {
+            int start = beginCell();
+            buffer.append(value);
+            return endCell(start);
+        }
+
+        /** Appends the value as String.format("%,.2f") would. */
+        TableRenderer add(double value) {
+            int start = beginCell();
+            appendFixed2(value);
+            return endCell(start);
+        }
+
+        /** Completes the current row. */
+        void endRow() {
+            buffer.append(rowSuffix).append(System.lineSeparator());
+            column = 0;
+            if (buffer.length() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Hands everything queued so far to the target stream. Call it once the
+         * listing is complete, before printing through System.out again.
+         */
+        void flush() {
+            PrintStream target = out != null ? out : System.out;
+            if (buffer.length() > 0) {
+                target.append(buffer);
+                buffer.setLength(0);
+            }
+            target.flush();
+        }
+
+        private int beginCell() {
+            buffer.append(columns[column].prefix);
+            return buffer.length();
+        }
+
+        private TableRenderer endCell(int start) {
+            Column c = columns[column++];
+            int padding = c.width - (buffer.length() - start);
+            while (padding > 0) {
+                int n = Math.min(padding, SPACES.length());
+                buffer.append(SPACES, 0, n);
+                padding -= n;
+            }
+            return this;
+        }
+
+        /**
+         * Appends the value with two decimals exactly as String.format("%,.2f")
+         * would. Formatter rounds the shortest decimal form of the double
+         * half-up, so cents are found by comparing against the doubles nearest to
+         * each decimal boundary. Very large and non-finite values go to String.format.
+         */
+        private void appendFixed2(double value) {
+            double a = Math.abs(value);
+            if (!(a < 1e12)) {
+                buffer.append(String.format("%,.2f", value));
+                return;
+            }
+            long cents = (long) (a * 100);
+            if ((cents + 1) / 100.0 <= a) {
+                cents++;
+            } else if (cents / 100.0 > a) {
+                cents--;
+            }
+            if (a >= (cents * 10 + 5) / 1000.0) {
+                cents++;
+            }
+
+            if (Double.doubleToRawLongBits(value) < 0) {
+                buffer.append('-');
+            }
+            long whole = cents / 100;
+            appendGrouped(whole);
+            long fraction = cents % 100;
+            buffer.append(decimalSeparator).append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+        }
+
+        private void appendGrouped(long whole) {
+            if (whole < 1000) {
+                buffer.append(whole);
+                return;
+            }
+            appendGrouped(whole / 1000);
+            long group = whole % 1000;
+            buffer.append(groupingSeparator)
+                  .append((char) ('0' + group / 100))
+                  .append((char) ('0' + group / 10 % 10))
+                  .append((char) ('0' + group % 10));
+        }
+    }
+
+    // --- Metrics ---
+
+    /**
+     * Counters, timers and gauges for the file operations. Each update is a
+     * LongAdder add; nothing is aggregated until "Show Stats" or the dump runs.
+     * With -Dmetrics.file=<path> the registry is also written to that file every
+     * metrics.intervalSec seconds (default 15) in Prometheus text format.
+     */
+    static class Metrics {
+
+        /** A monotonically increasing count. */
+        static final class Counter {
+            private final LongAdder value = new LongAdder();
+
+            void increment() {
+                value.increment();
+            }
+
+            void add(long amount) {
+                value.add(amount);
+            }
+
+            long get() {
+                return value.sum();
+            }
+        }
+
+        /** Count, total and maximum of recorded durations. */
+        static final class Timer {
+            private final LongAdder count = new LongAdder();
+            private final LongAdder totalNanos = new LongAdder();
+            private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+            void record(long nanos) {
+                count.increment();
+                totalNanos.add(nanos);
+                maxNanos.accumulate(nanos);
+            }
+        }
+
+        private static final class Entry {
+            final String help;
+            final Object metric; // Counter, Timer or LongSupplier (gauge)
+
+            Entry(String help, Object metric) {
+                this.help = help;
+                this.metric = metric;
+            }
+        }
+
+        private static final Map<String, Entry> REGISTRY = new ConcurrentSkipListMap<>();
+
+        private Metrics() {
+        }
+
+        static Counter counter(String name, String help) {
+            return (Counter) REGISTRY.computeIfAbsent(name, n -> new Entry(help, new Counter())).metric;
+        }
+
+        static Timer timer(String name, String help) {
+            return (Timer) REGISTRY.computeIfAbsent(name, n -> new Entry(help, new Timer())).metric;
+        }
+
+        /** Registers a value read at display time, such as a queue depth. */
+        static void gauge(String name, String help, LongSupplier value) {
+            REGISTRY.put(name, new Entry(help, value));
+        }
+
+        /** @return Every metric in Prometheus text exposition format. Timers are summaries in seconds. */
+        static String toPrometheus() {
+            StringBuilder sb = new StringBuilder(1024);
+            for (Map.Entry<String, Entry> e : REGISTRY.entrySet()) {
+                String name = e.getKey();
+                Object metric = e.getValue().metric;
+                sb.append("# HELP ").append(name).append(' ').append(e.getValue().help).append('\n');
+                if (metric instanceof Counter) {
+                    sb.append("# TYPE ").append(name).append(" counter\n");
+                    sb.append(name).append(' ').append(((Counter) metric).get()).append('\n');
+                } else if (metric instanceof Timer) {
+                    Timer t = (Timer) metric;
+                    sb.append("# TYPE ").append(name).append(" summary\n");
+                    sb.append(name).append("_count ").append(t.count.sum()).append('\n');
+                    sb.append(name).append("_sum ").append(t.totalNanos.sum() / 1e9).append('\n');
+                    sb.append("# TYPE ").append(name).append("_max gauge\n");
+                    sb.append(name).append("_max ").append(t.maxNanos.get() / 1e9).append('\n');
+                } else {
+                    sb.append("# TYPE ").append(name).append(" gauge\n");
+                    sb.append(name).append(' ').append(((LongSupplier) metric).getAsLong()).append('\n');
+                }
+            }
+            return sb.toString();
+        }
+
+        /** Prints a readable summary, one metric per line. */
+        static void printSummary() {
+            for (Map.Entry<String, Entry> e : REGISTRY.entrySet()) {
+                Object metric = e.getValue().metric;
+                if (metric instanceof Timer) {
+                    Timer t = (Timer) metric;
+                    long count = t.count.sum();
+                    System.out.printf("%-40s count=%d avg=%.3f ms max=%.3f ms%n", e.getKey(), count,
+                        count == 0 ? 0.0 : t.totalNanos.sum() / 1e6 / count, t.maxNanos.get() / 1e6);
+                } else {
+                    long value = metric instanceof Counter ? ((Counter) metric).get() : ((LongSupplier) metric).getAsLong();
+                    System.out.printf("%-40s %d%n", e.getKey(), value);
+                }
+            }
+        }
+
+        /**
+         * Starts the periodic dump if -Dmetrics.file is set. The file is written
+         * to a temporary name and renamed, so a scraper never reads half a file.
+         */
+        static void startFileDumpIfConfigured() {
+            String file = System.getProperty("metrics.file");
+            if (file == null) {
+                return;
+            }
+            Path target = Paths.get(file).toAbsolutePath();
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            long interval = Long.getLong("metrics.intervalSec", 15);
+            ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "metrics-dump");
+                t.setDaemon(true);
+                return t;
+            });
+            Runnable dump = () -> {
+                try {
+                    Files.write(temp, toPrometheus().getBytes(StandardCharsets.UTF_8));
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    System.err.println("[Metrics] Could not write " + target + ": " + e.getMessage());
+                }
+            };
+            dumper.scheduleAtFixedRate(dump, interval, interval, TimeUnit.SECONDS);
+            // One last dump on exit, so short runs leave a file too
+            Runtime.getRuntime().addShutdownHook(new Thread(dump, "metrics-final-dump"));
+        }
+    }
+
+    private static final Metrics.Timer FILE_WRITE_TIMER =
+        Metrics.timer("employee_file_write_seconds", "Time to append one employee to the data file.");
+    private static final Metrics.Timer FILE_READ_TIMER =
+        Metrics.timer("employee_file_read_seconds", "Time to read and parse the whole data file.");
+    private static final Metrics.Counter BYTES_WRITTEN =
+        Metrics.counter("employee_file_written_bytes_total", "Bytes appended to the data file.");
+    private static final Metrics.Counter BYTES_READ =
+        Metrics.counter("employee_file_read_bytes_total", "Bytes of the data file read.");
+    private static final Metrics.Counter RECORDS_READ =
+        Metrics.counter("employee_records_read_total", "Employee records parsed from the data file.");
+    private static final Metrics.Counter CORRUPTED_RECORDS =
+        Metrics.counter("employee_corrupted_records_total", "Data file lines skipped as corrupted.");
+    private static final Metrics.Counter FILE_ERRORS =
+        Metrics.counter("employee_file_errors_total", "Data file reads or writes that failed.");
+
+    // Row layout, equivalent to Employee.toString()
+    private static final TableRenderer EMPLOYEE_ROWS = employeeRenderer(null);
+
+    private static TableRenderer employeeRenderer(PrintStream target) {
+        TableRenderer.Column[] layout = {
+            new TableRenderer.Column("| ", 15),
+            new TableRenderer.Column(" | ", 5),
+            new TableRenderer.Column(" | ", 18),
+            new TableRenderer.Column(" | $", 0)
+        };
+        return target == null ? new TableRenderer(" |", layout) : new TableRenderer(target, " |", layout);
+    }
+
     // --- Application Logic ---
 
     public static void main(String[] args) {
+        // Run "Main bench [records]" to time parsing and file loading on a generated file
+        if (args.length > 0 && args[0].equals("bench")) {
+            runBenchmarks(args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000);
+            return;
+        }
+
+        Metrics.gauge("employee_data_file_bytes", "Current size of " + FILE_NAME + ".",
+            () -> new File(FILE_NAME).length());
+        Metrics.startFileDumpIfConfigured();
+
         int choice = 0;
         
-        while (choice != 3) {
+        while (choice != 4) {
             displayMenu();
             try {
                 if (scanner.hasNextInt()) {
                     choice = scanner.nextInt();
                     scanner.nextLine(); // Consume newline
                 } else {
-                    System.out.println("\n[Error] Invalid input. Please enter a number (1, 2, or 3).");
+                    System.out.println("\n[Error] Invalid input. Please enter a number (1-4).");
                     scanner.nextLine(); // Consume bad input
                     continue;
                 }
@@ -87,10 +667,13 @@ public class Main{
                         displayAllEmployees();
                         break;
                     case 3:
+                        showStats();
+                        break;
+                    case 4:
                         System.out.println("\nExiting Application. Data saved to " + FILE_NAME);
                         break;
                     default:
-                        System.out.println("\n[Warning] Choice must be 1, 2, or 3.");
+                        System.out.println("\n[Warning] Choice must be 1-4.");
                 }
             } catch (InputMismatchException e) {
                 // This is generally caught by the if/else above, but included for robustness
@@ -107,7 +690,8 @@ public class Main{
         System.out.println("=================================");
         System.out.println("1. Add an Employee");
         System.out.println("2. Display All Employees");
-        System.out.println("3. Exit the Application");
+        System.out.println("3. Show Stats");
+        System.out.println("4. Exit the Application");
         System.out.print("Enter your choice: ");
     }
     
@@ -160,11 +744,17 @@ public class Main{
         
         // Display records
         for (Employee emp : employees) {
-            System.out.println(emp.toString());
+            EMPLOYEE_ROWS.add(emp.name).add(emp.id).add(emp.designation).add(emp.salary).endRow();
         }
+        EMPLOYEE_ROWS.flush();
         System.out.println("-----------------------------------------------------------------");
     }
 
+    private static void showStats() {
+        System.out.println("\n--- Runtime Stats ---");
+        Metrics.printSummary();
+    }
+
     // --- File Handling Methods ---
     
     /**
@@ -172,15 +762,21 @@ public class Main{
      * @param employee The Employee object to save.
      */
     private static void saveEmployeeToFile(Employee employee) {
+        long start = System.nanoTime();
+        String line = employee.toFileString();
         // Use true for FileWriter constructor to enable append mode
         try (FileWriter fw = new FileWriter(FILE_NAME, true);
              BufferedWriter bw = new BufferedWriter(fw)) {
             
-            bw.write(employee.toFileString());
+            bw.write(line);
             bw.newLine();
+            BYTES_WRITTEN.add((line + System.lineSeparator()).getBytes(Charset.defaultCharset()).length);
             
         } catch (IOException e) {
+            FILE_ERRORS.increment();
             System.err.println("[File Error] Could not write to file: " + e.getMessage());
+        } finally {
+            FILE_WRITE_TIMER.record(System.nanoTime() - start);
         }
     }
 
@@ -189,24 +785,149 @@ public class Main{
      * @return A list of Employee objects.
      */
     private static List<Employee> readEmployeesFromFile() {
+        return readEmployeesFromFile(FILE_NAME);
+    }
+
+    /**
+     * Reads all employee records from the given text file.
+     * @param fileName The file to read.
+     * @return A list of Employee objects.
+     */
+    static List<Employee> readEmployeesFromFile(String fileName) {
         List<Employee> employees = new ArrayList<>();
-        try (FileReader fr = new FileReader(FILE_NAME);
-             BufferedReader br = new BufferedReader(fr)) {
-            
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.trim().isEmpty()) continue; // Skip empty lines
-                try {
-                    // Convert the delimited string back to an Employee object
-                    employees.add(Employee.fromFileString(line));
-                } catch (IllegalArgumentException e) {
+        long start = System.nanoTime();
+        try {
+            // Parse each line in place and convert it to an Employee object
+            EmployeeLineParser.scan(fileName,
+                record -> employees.add(record.toEmployee()),
+                line -> {
+                    CORRUPTED_RECORDS.increment();
                     System.err.println("[Data Error] Skipping corrupted record: " + line);
-                }
-            }
+                });
+            BYTES_READ.add(new File(fileName).length());
         } catch (IOException e) {
+            FILE_ERRORS.increment();
             // Handle case where file doesn't exist yet (first run) or read error
             System.err.println("[File Notice] Database file not found or read error: " + e.getMessage());
+        } finally {
+            FILE_READ_TIMER.record(System.nanoTime() - start);
+            RECORDS_READ.add(employees.size());
         }
         return employees;
     }
+
+    // --- Benchmarks ---
+
+    /**
+     * Writes 'records' generated employees to a temp file, then times
+     * fromFileString per line and readEmployeesFromFile for the whole file.
+     * Prints one JSON line per measurement.
+     */
+    private static void runBenchmarks(int records) {
+        String[] designations = {"Engineer", "Manager", "Analyst", "Director", "Intern"};
+        List<String> lines = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            lines.add(new Employee("Employee " + i, "E" + i, designations[i % designations.length],
+                40_000 + (i % 900) * 100.5).toFileString());
+        }
+        try {
+            File file = File.createTempFile("employees-bench", ".txt");
+            file.deleteOnExit();
+            try (BufferedWriter bw = new BufferedWriter(new FileWriter(file))) {
+                for (String line : lines) {
+                    bw.write(line);
+                    bw.newLine();
+                }
+            }
+
+            long parseNanos = 0, readNanos = 0;
+            for (int round = 0; round < 5; round++) { // the first rounds warm up the JIT
+                long start = System.nanoTime();
+                for (String line : lines) {
+                    Employee.fromFileString(line);
+                }
+                parseNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                if (readEmployeesFromFile(file.getPath()).size() != records) {
+                    throw new IllegalStateException("File read lost records.");
+                }
+                readNanos = System.nanoTime() - start;
+            }
+            printResult("fromFileString", records, parseNanos);
+            printResult("readEmployeesFromFile", records, readNanos);
+
+            // Allocation per record of a scan-only pass (summing salaries): the old
+            // readLine + split approach against the in-place scanner
+            String path = file.getPath();
+            double[] total = new double[1];
+            for (int round = 0; round < 3; round++) {
+                long before = allocatedBytes();
+                try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+                    String line;
+                    while ((line = br.readLine()) != null) {
+                        total[0] += Double.parseDouble(line.split("\\|")[3]);
+                    }
+                }
+                long splitBytes = allocatedBytes() - before;
+
+                before = allocatedBytes();
+                EmployeeLineParser.scan(path, record -> total[0] += record.getSalary(), line -> { });
+                long scanBytes = allocatedBytes() - before;
+
+                if (round == 2) {
+                    printAllocation("scan.split", records, splitBytes);
+                    printAllocation("scan.inPlace", records, scanBytes);
+                }
+            }
+
+            // Listing output: println(toString()) per row against the buffered renderer.
+            // Both write into a discarding sink, so only formatting and call overhead is compared.
+            List<Employee> employees = readEmployeesFromFile(path);
+            PrintStream printfSink = new PrintStream(OutputStream.nullOutputStream(), true);
+            TableRenderer renderer = employeeRenderer(new PrintStream(OutputStream.nullOutputStream(), true));
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                for (Employee emp : employees) {
+                    printfSink.println(emp.toString());
+                }
+                long printlnNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (Employee emp : employees) {
+                    renderer.add(emp.name).add(emp.id).add(emp.designation).add(emp.salary).endRow();
+                }
+                renderer.flush();
+                long rendererNanos = System.nanoTime() - start;
+
+                if (round == 4) {
+                    printRowRate("listing.println", records, printlnNanos);
+                    printRowRate("listing.renderer", records, rendererNanos);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[Benchmark Error] " + e.getMessage());
+        }
+    }
+
+    /** Bytes allocated so far by the current thread (HotSpot-specific). */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void printAllocation(String name, int records, long bytes) {
+        System.out.printf("{\"benchmark\":\"%s\",\"records\":%d,\"bytesPerRecord\":%.1f}%n",
+            name, records, (double) bytes / Math.max(1, records));
+    }
+
+    private static void printRowRate(String name, int records, long nanos) {
+        System.out.printf("{\"benchmark\":\"%s\",\"records\":%d,\"rowsPerSec\":%.0f}%n",
+            name, records, records * 1e9 / Math.max(1, nanos));
+    }
+
+    private static void printResult(String name, int records, long nanos) {
+        System.out.printf("{\"benchmark\":\"%s\",\"records\":%d,\"nsPerRecord\":%.1f}%n",
+            name, records, (double) nanos / Math.max(1, records));
+    }
 }
@@ -1,4 +1,26 @@
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 // 1. Create the Student class and implement the Serializable interface
 class Student implements Serializable {
@@ -18,18 +40,757 @@ class Student implements Serializable {
         this.grade = grade;
     }
 
+    public int getStudentID() { return studentID; }
+    public String getName() { return name; }
+    public char getGrade() { return grade; }
+
     @Override
     public String toString() {
         return "Student [ID=" + studentID + ", Name=" + name + ", Grade=" + grade + "]";
     }
 }
 
+// 2. Bulk storage: many Student objects streamed through one file
+/**
+ * Writes any number of Student objects to a single buffered stream and reads them
+ * back one at a time, so neither side ever holds the whole data set in memory.
+ */
+class StudentStreamArchive {
+
+    // ObjectOutputStream remembers every object it has written so that repeated
+    // references can be replaced by back-references. Resetting the stream every
+    // RESET_INTERVAL objects clears that table on both the writing and reading side.
+    static final int RESET_INTERVAL = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Serializes every Student produced by the iterator into one file.
+     * A null object is written last to mark the end of the stream.
+     * @return The number of students written.
+     */
+    static long writeAll(Iterator<Student> students, String fileName) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(Paths.get(fileName)), BUFFER_SIZE))) {
+            long count = 0;
+            while (students.hasNext()) {
+                out.writeObject(students.next());
+                if (++count % RESET_INTERVAL == 0) {
+                    out.reset();
+                }
+            }
+            out.writeObject(null);
+            return count;
+        }
+    }
+
+    /**
+     * Opens a file written by writeAll for sequential, constant-memory reading.
+     */
+    static Reader open(String fileName) throws IOException {
+        ObjectInputStream in = new ObjectInputStream(
+            new BufferedInputStream(Files.newInputStream(Paths.get(fileName)), BUFFER_SIZE));
+        in.setObjectInputFilter(StudentLoadFilter.STREAM);
+        return new Reader(in);
+    }
+
+    /**
+     * Iterator over the students of an archive. Only the next object is read ahead.
+     */
+    static class Reader implements Iterator<Student>, Closeable {
+        private final ObjectInputStream in;
+        private Student next;
+        private boolean finished;
+
+        private Reader(ObjectInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                try {
+                    next = (Student) in.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ClassNotFoundException e) {
+                    throw new UncheckedIOException(new InvalidClassException(e.getMessage()));
+                }
+                finished = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Student next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Student student = next;
+            next = null;
+            return student;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
+
+// 3. Random access: length-prefixed records plus a trailing ID index
+/**
+ * Archive format that can load a single Student by ID without reading the records before it.
+ *
+ * File layout:
+ *   records : [int length][int id][short nameLength][name bytes (UTF-8)][char grade] ...
+ *   index   : [int id][long offset] ... sorted by id
+ *   footer  : [long indexOffset][int count][int MAGIC]
+ */
+class StudentIndexedArchive {
+
+    static final int MAGIC = 0x53545849; // "STXI"
+    private static final int FOOTER_SIZE = 16;
+    private static final int INDEX_ENTRY_SIZE = 12;
+    // Most records fit in one read of this size; longer names need a second read
+    private static final int READ_AHEAD = 128;
+    // Name lengths are stored as an unsigned short
+    static final int MAX_NAME_BYTES = 0xFFFF;
+
+    /**
+     * Writes all students, then the sorted index and the footer.
+     * Student IDs are expected to be unique.
+     * @return The number of students written.
+     * @throws IOException If a name is longer than MAX_NAME_BYTES in UTF-8.
+     */
+    static int writeAll(Iterator<Student> students, String fileName) throws IOException {
+        int[] ids = new int[1024];
+        long[] offsets = new long[1024];
+        int count = 0;
+        long offset = 0;
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(Paths.get(fileName)), 64 * 1024))) {
+            while (students.hasNext()) {
+                Student student = students.next();
+                byte[] name = student.getName().getBytes(StandardCharsets.UTF_8);
+                if (name.length > MAX_NAME_BYTES) {
+                    throw new IOException("Name of student " + student.getStudentID() + " is " + name.length
+                            + " bytes in UTF-8; the archive allows at most " + MAX_NAME_BYTES + ".");
+                }
+                int length = 4 + 2 + name.length + 2;
+
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                ids[count] = student.getStudentID();
+                offsets[count] = offset;
+                count++;
+
+                out.writeInt(length);
+                out.writeInt(student.getStudentID());
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeChar(student.getGrade());
+                offset += 4 + length;
+            }
+
+            long indexOffset = offset;
+            for (int i : sortedOrder(ids, count)) {
+                out.writeInt(ids[i]);
+                out.writeLong(offsets[i]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(count);
+            out.writeInt(MAGIC);
+        }
+        return count;
+    }
+
+    /**
+     * Returns record positions ordered by student ID, packing (id, position) into
+     * one long so the sort runs over primitives.
+     */
+    private static int[] sortedOrder(int[] ids, int count) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            // Flip the sign bit so negative IDs sort before positive ones
+            keys[i] = ((long) (ids[i] ^ Integer.MIN_VALUE) << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Opens an archive for point lookups.
+     * @param mapped If true, the whole file is memory-mapped; otherwise only the index is.
+     */
+    static Reader open(String fileName, boolean mapped) throws IOException {
+        return new Reader(FileChannel.open(Paths.get(fileName), StandardOpenOption.READ), mapped);
+    }
+
+    /**
+     * Looks students up by binary search over the mapped index, followed by a
+     * single positioned read of the record.
+     */
+    static class Reader implements Closeable {
+        private final FileChannel channel;
+        private final MappedByteBuffer index;
+        private final MappedByteBuffer records; // null unless the file is fully mapped
+        private final int count;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_AHEAD);
+
+        private Reader(FileChannel channel, boolean mapped) throws IOException {
+            this.channel = channel;
+            try {
+                long size = channel.size();
+                if (size < FOOTER_SIZE) {
+                    throw new IOException("File too short to be a student archive.");
+                }
+                ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+                readFully(footer, size - FOOTER_SIZE);
+                footer.flip();
+                long indexOffset = footer.getLong();
+                this.count = footer.getInt();
+                if (footer.getInt() != MAGIC || indexOffset + (long) count * INDEX_ENTRY_SIZE != size - FOOTER_SIZE) {
+                    throw new IOException("Not a student archive or footer is corrupted.");
+                }
+                this.index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) count * INDEX_ENTRY_SIZE);
+                if (mapped && indexOffset > Integer.MAX_VALUE) {
+                    throw new IOException("Record section is too large to map in one buffer.");
+                }
+                this.records = mapped ? channel.map(FileChannel.MapMode.READ_ONLY, 0, indexOffset) : null;
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        int size() {
+            return count;
+        }
+
+        /**
+         * @return The student with the given ID, or null if the archive does not contain it.
+         */
+        Student find(int studentID) throws IOException {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int id = index.getInt(mid * INDEX_ENTRY_SIZE);
+                if (id < studentID) {
+                    low = mid + 1;
+                } else if (id > studentID) {
+                    high = mid - 1;
+                } else {
+                    return readRecord(index.getLong(mid * INDEX_ENTRY_SIZE + 4));
+                }
+            }
+            return null;
+        }
+
+        private Student readRecord(long offset) throws IOException {
+            ByteBuffer buffer;
+            if (records != null) {
+                buffer = records.duplicate();
+                buffer.position((int) offset + 4);
+            } else {
+                readBuffer.clear();
+                channel.read(readBuffer, offset);
+                readBuffer.flip();
+                int length = readBuffer.getInt(0);
+                if (readBuffer.remaining() < 4 + length) {
+                    buffer = ByteBuffer.allocate(length);
+                    readFully(buffer, offset + 4);
+                    buffer.flip();
+                } else {
+                    buffer = readBuffer;
+                    buffer.position(4);
+                }
+            }
+            int id = buffer.getInt();
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            char grade = buffer.getChar();
+            return new Student(id, new String(name, StandardCharsets.UTF_8), grade);
+        }
+
+        private void readFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of student archive.");
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
+
+// 4. Compressed snapshots: records cut into checksummed, independently compressed blocks
+/**
+ * A compression stage for snapshot blocks. Each block is encoded on its own,
+ * so blocks can be compressed on different threads.
+ */
+interface SnapshotCodec {
+    /** Identifier stored in every block header. */
+    byte id();
+    String name();
+    /** @return The encoded form of raw[0..length). */
+    byte[] encode(byte[] raw, int length);
+    /** Decodes 'data' into exactly 'rawLength' bytes. */
+    byte[] decode(byte[] data, int rawLength) throws IOException;
+
+    /** Stores blocks as they are: framing and checksums only. */
+    SnapshotCodec NONE = new SnapshotCodec() {
+        public byte id() { return 0; }
+        public String name() { return "none"; }
+        public byte[] encode(byte[] raw, int length) { return Arrays.copyOf(raw, length); }
+        public byte[] decode(byte[] data, int rawLength) throws IOException {
+            if (data.length != rawLength) {
+                throw new IOException("Stored block is " + data.length + " bytes, expected " + rawLength + ".");
+            }
+            return data;
+        }
+    };
+
+    static SnapshotCodec deflate(int level) {
+        return new DeflateCodec(level);
+    }
+
+    /** Looks up the codec needed to read a block written with the given id. */
+    static SnapshotCodec forId(byte id) throws IOException {
+        if (id == NONE.id()) return NONE;
+        if (id == DeflateCodec.ID) return DeflateCodec.DECODER;
+        throw new IOException("Unknown snapshot codec id: " + id);
+    }
+}
+
+/**
+ * JDK Deflater at a selectable level (1 = fastest, 9 = smallest).
+ * Deflater and Inflater instances are reused per thread because they hold native buffers.
+ * Inflating does not depend on the level, so all instances share one Inflater per thread.
+ */
+class DeflateCodec implements SnapshotCodec {
+    static final byte ID = 1;
+
+    /** Shared instance for reading: every deflate block decodes through it, whatever its level. */
+    static final DeflateCodec DECODER = new DeflateCodec(Deflater.DEFAULT_COMPRESSION);
+
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+
+    private final int level;
+    private final ThreadLocal<Deflater> deflaters;
+
+    DeflateCodec(int level) {
+        this.level = level;
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level));
+    }
+
+    public byte id() { return ID; }
+    public String name() { return "deflate-" + level; }
+
+    public byte[] encode(byte[] raw, int length) {
+        Deflater deflater = deflaters.get();
+        deflater.reset();
+        deflater.setInput(raw, 0, length);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + 64);
+        byte[] chunk = new byte[16 * 1024];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] decode(byte[] data, int rawLength) throws IOException {
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setInput(data);
+        byte[] raw = new byte[rawLength];
+        try {
+            int filled = 0;
+            while (filled < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, filled, rawLength - filled);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                filled += n;
+            }
+            if (filled != rawLength) {
+                throw new IOException("Compressed block is truncated.");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Compressed block is corrupted: " + e.getMessage());
+        }
+        return raw;
+    }
+}
+
+/**
+ * Snapshot file of Student records written through a SnapshotCodec.
+ *
+ * File layout:
+ *   header : [int MAGIC][int blockSize]
+ *   blocks : [byte codecId][int rawLength][int storedLength][int crc32c of raw bytes][stored bytes] ...
+ *   end    : a block header with rawLength 0
+ *
+ * Records ([byte 1][int id][UTF name][char grade], closed by a single byte 0)
+ * are a plain byte stream that may span block boundaries.
+ */
+class StudentSnapshot {
+
+    static final int MAGIC = 0x53544e50; // "STNP"
+    static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+    // Upper bound accepted from a file header, so a corrupted one cannot force a huge allocation
+    static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Writes all students to a snapshot, compressing blocks on 'threads' worker threads.
+     * @return The number of students written.
+     */
+    static long write(Iterator<Student> students, String fileName, SnapshotCodec codec, int threads)
+            throws IOException {
+        long count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new BlockOutputStream(Files.newOutputStream(Paths.get(fileName)), codec, DEFAULT_BLOCK_SIZE, threads),
+                16 * 1024))) {
+            while (students.hasNext()) {
+                Student student = students.next();
+                out.writeByte(1);
+                out.writeInt(student.getStudentID());
+                out.writeUTF(student.getName());
+                out.writeChar(student.getGrade());
+                count++;
+            }
+            out.writeByte(0);
+        }
+        return count;
+    }
+
+    static Reader open(String fileName) throws IOException {
+        return new Reader(new DataInputStream(new BufferedInputStream(
+            new BlockInputStream(Files.newInputStream(Paths.get(fileName))), 16 * 1024)));
+    }
+
+    /**
+     * Sequential iterator over a snapshot. Blocks are decoded one at a time.
+     */
+    static class Reader implements Iterator<Student>, Closeable {
+        private final DataInputStream in;
+        private Student next;
+        private boolean finished;
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                try {
+                    if (in.readByte() == 0) {
+                        finished = true;
+                    } else {
+                        next = new Student(in.readInt(), in.readUTF(), in.readChar());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Student next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Student student = next;
+            next = null;
+            return student;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Cuts the byte stream into blocks and hands them to a thread pool for encoding.
+     * Finished blocks are written strictly in submission order, and at most two
+     * blocks per thread are in flight, which bounds memory use.
+     */
+    private static class BlockOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final SnapshotCodec codec;
+        private final ExecutorService pool;
+        private final ArrayDeque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        private final int maxInFlight;
+        private byte[] block;
+        private int filled;
+
+        BlockOutputStream(OutputStream target, SnapshotCodec codec, int blockSize, int threads) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(target, 64 * 1024));
+            this.codec = codec;
+            this.pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "snapshot-compressor");
+                t.setDaemon(true);
+                return t;
+            });
+            this.maxInFlight = threads * 2;
+            this.block = new byte[blockSize];
+            out.writeInt(MAGIC);
+            out.writeInt(blockSize);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (filled == block.length) {
+                submitBlock();
+            }
+            block[filled++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (filled == block.length) {
+                    submitBlock();
+                }
+                int n = Math.min(len, block.length - filled);
+                System.arraycopy(b, off, block, filled, n);
+                filled += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void submitBlock() throws IOException {
+            byte[] raw = block;
+            int length = filled;
+            inFlight.add(pool.submit(() -> frame(raw, length)));
+            block = new byte[raw.length];
+            filled = 0;
+            while (inFlight.size() >= maxInFlight) {
+                writeNextFinished();
+            }
+        }
+
+        private byte[] frame(byte[] raw, int length) throws IOException {
+            CRC32C crc = new CRC32C();
+            crc.update(raw, 0, length);
+            byte[] stored = codec.encode(raw, length);
+            byte codecId = codec.id();
+            if (stored.length >= length) {
+                // Incompressible block: storing it raw is smaller and faster to read
+                stored = SnapshotCodec.NONE.encode(raw, length);
+                codecId = SnapshotCodec.NONE.id();
+            }
+            ByteArrayOutputStream framed = new ByteArrayOutputStream(13 + stored.length);
+            DataOutputStream header = new DataOutputStream(framed);
+            header.writeByte(codecId);
+            header.writeInt(length);
+            header.writeInt(stored.length);
+            header.writeInt((int) crc.getValue());
+            header.write(stored);
+            return framed.toByteArray();
+        }
+
+        private void writeNextFinished() throws IOException {
+            try {
+                out.write(inFlight.poll().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while compressing snapshot.");
+            } catch (ExecutionException e) {
+                throw new IOException("Block compression failed.", e.getCause());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (filled > 0) {
+                    submitBlock();
+                }
+                while (!inFlight.isEmpty()) {
+                    writeNextFinished();
+                }
+                out.writeByte(SnapshotCodec.NONE.id());
+                out.writeInt(0);
+                out.writeInt(0);
+                out.writeInt(0);
+            } finally {
+                pool.shutdownNow();
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Reads blocks back, verifying each checksum before the bytes are handed out.
+     */
+    private static class BlockInputStream extends InputStream {
+        private final DataInputStream in;
+        private byte[] block = new byte[0];
+        private int position;
+        private boolean ended;
+        private final int blockSize;
+        // Deflate can expand incompressible input slightly, so stored blocks may exceed blockSize
+        private final int maxStoredLength;
+
+        BlockInputStream(InputStream source) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(source, 64 * 1024));
+            try {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not a student snapshot file.");
+                }
+                blockSize = in.readInt();
+                if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE) {
+                    throw new IOException("Invalid snapshot block size: " + blockSize);
+                }
+                maxStoredLength = blockSize + (blockSize >>> 10) + 64;
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        private boolean nextBlock() throws IOException {
+            if (ended) {
+                return false;
+            }
+            SnapshotCodec codec = SnapshotCodec.forId(in.readByte());
+            int rawLength = in.readInt();
+            int storedLength = in.readInt();
+            int checksum = in.readInt();
+            if (rawLength == 0) {
+                ended = true;
+                return false;
+            }
+            if (rawLength < 0 || rawLength > blockSize || storedLength < 0 || storedLength > maxStoredLength) {
+                throw new IOException("Corrupted snapshot block header: rawLength=" + rawLength
+                        + ", storedLength=" + storedLength + ", blockSize=" + blockSize);
+            }
+            byte[] stored = new byte[storedLength];
+            in.readFully(stored);
+            block = codec.decode(stored, rawLength);
+            CRC32C crc = new CRC32C();
+            crc.update(block, 0, rawLength);
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Snapshot block checksum mismatch.");
+            }
+            position = 0;
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == block.length && !nextBlock()) {
+                return -1;
+            }
+            return block[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == block.length && !nextBlock()) {
+                return -1;
+            }
+            int n = Math.min(len, block.length - position);
+            System.arraycopy(block, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
+
+// 5. Hardened loading: reject anything that is not a small Student before it is allocated
+/**
+ * ObjectInputFilter limits for Student files. The filter runs before each class,
+ * array and reference is materialized, so a hostile file is rejected before it
+ * can allocate a large graph.
+ */
+class StudentLoadFilter {
+
+    static final long MAX_DEPTH = 4;
+    static final long MAX_ARRAY_LENGTH = 256;
+    static final long MAX_REFERENCES = 64;
+    static final long MAX_BYTES = 16 * 1024;
+
+    /** For a file holding exactly one Student: allowlist plus every limit. */
+    static final ObjectInputFilter SINGLE = ObjectInputFilter.Config.createFilter(
+        Student.class.getName()
+        + ";maxdepth=" + MAX_DEPTH
+        + ";maxarray=" + MAX_ARRAY_LENGTH
+        + ";maxrefs=" + MAX_REFERENCES
+        + ";maxbytes=" + MAX_BYTES
+        + ";!*");
+
+    /**
+     * For long Student streams. Reference and byte counts grow with the stream
+     * (reset() does not clear them), so only per-object limits apply here.
+     */
+    static final ObjectInputFilter STREAM = info -> {
+        if (info.depth() > MAX_DEPTH || info.arrayLength() > MAX_ARRAY_LENGTH) {
+            return ObjectInputFilter.Status.REJECTED;
+        }
+        Class<?> type = info.serialClass();
+        if (type == null) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        return type == Student.class ? ObjectInputFilter.Status.ALLOWED : ObjectInputFilter.Status.REJECTED;
+    };
+
+    /**
+     * Reads one Student through the SINGLE filter.
+     * @throws InvalidClassException If the filter rejects the content.
+     * @throws InvalidObjectException If the stream holds no Student.
+     */
+    static Student readStudent(InputStream source) throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(source);
+        in.setObjectInputFilter(SINGLE);
+        Object object = in.readObject();
+        if (!(object instanceof Student)) {
+            throw new InvalidObjectException("File does not contain a Student.");
+        }
+        return (Student) object;
+    }
+}
+
 public class SerializationDemo {
     
     private static final String FILE_NAME = "student_data.ser";
+    private static final String BULK_FILE_NAME = "student_bulk.ser";
+    private static final String INDEXED_FILE_NAME = "student_indexed.dat";
+    private static final String SNAPSHOT_FILE_NAME = "student_snapshot.snp";
 
     public static void main(String[] args) {
         
+        // Run "SerializationDemo bench [records]" to measure the bulk formats instead
+        if (args.length > 0 && args[0].equals("bench")) {
+            runBenchmarks(args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000);
+            return;
+        }
+
         // --- 1. Serialization (Saving the object) ---
         Student originalStudent = new Student(101, "Alice Johnson", 'A');
         System.out.println("Original Object to be Serialized: " + originalStudent);
@@ -48,6 +809,199 @@ public class SerializationDemo {
             System.out.println("\nVerification:");
             System.out.println("Original == Deserialized? " + (originalStudent == deserializedStudent)); 
         }
+
+        System.out.println("\n------------------------------------------------");
+
+        // --- 3. Bulk serialization (many objects, one file) ---
+        try {
+            long written = StudentStreamArchive.writeAll(generateStudents(10_000), BULK_FILE_NAME);
+            System.out.println("Bulk archive written: " + written + " students to " + BULK_FILE_NAME);
+
+            long read = 0;
+            Student last = null;
+            try (StudentStreamArchive.Reader reader = StudentStreamArchive.open(BULK_FILE_NAME)) {
+                while (reader.hasNext()) {
+                    last = reader.next();
+                    read++;
+                }
+            }
+            System.out.println("Bulk archive read back: " + read + " students. Last: " + last);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Bulk archive error: " + e.getMessage());
+        }
+
+        // --- 4. Random access by student ID ---
+        try {
+            StudentIndexedArchive.writeAll(generateStudents(10_000), INDEXED_FILE_NAME);
+            try (StudentIndexedArchive.Reader reader = StudentIndexedArchive.open(INDEXED_FILE_NAME, true)) {
+                System.out.println("Indexed archive lookup (ID 4242): " + reader.find(4242));
+            }
+        } catch (IOException e) {
+            System.err.println("Indexed archive error: " + e.getMessage());
+        }
+
+        // --- 5. Compressed snapshot ---
+        try {
+            int threads = Runtime.getRuntime().availableProcessors();
+            StudentSnapshot.write(generateStudents(10_000), SNAPSHOT_FILE_NAME, SnapshotCodec.deflate(6), threads);
+            long read = 0;
+            try (StudentSnapshot.Reader reader = StudentSnapshot.open(SNAPSHOT_FILE_NAME)) {
+                while (reader.hasNext()) {
+                    reader.next();
+                    read++;
+                }
+            }
+            System.out.println("Compressed snapshot (deflate-6): " + read + " students, "
+                + Files.size(Paths.get(SNAPSHOT_FILE_NAME)) + " bytes on disk.");
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Snapshot error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lazily produces 'count' synthetic students, so callers never need them all in memory.
+     */
+    static Iterator<Student> generateStudents(int count) {
+        return new Iterator<Student>() {
+            private int id = 0;
+
+            @Override
+            public boolean hasNext() {
+                return id < count;
+            }
+
+            @Override
+            public Student next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                id++;
+                return new Student(id, "Student-" + id, (char) ('A' + id % 5));
+            }
+        };
+    }
+
+    /**
+     * Times each bulk format and prints one JSON line per measurement.
+     * @param records Number of students to write and read back.
+     */
+    static void runBenchmarks(int records) {
+        try {
+            long start = System.nanoTime();
+            StudentStreamArchive.writeAll(generateStudents(records), BULK_FILE_NAME);
+            long writeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long read = 0;
+            try (StudentStreamArchive.Reader reader = StudentStreamArchive.open(BULK_FILE_NAME)) {
+                while (reader.hasNext()) {
+                    reader.next();
+                    read++;
+                }
+            }
+            long readNanos = System.nanoTime() - start;
+            long bytes = Files.size(Paths.get(BULK_FILE_NAME));
+
+            printResult("stream.write", records, writeNanos, bytes);
+            printResult("stream.read", read, readNanos, bytes);
+
+            start = System.nanoTime();
+            StudentIndexedArchive.writeAll(generateStudents(records), INDEXED_FILE_NAME);
+            writeNanos = System.nanoTime() - start;
+            bytes = Files.size(Paths.get(INDEXED_FILE_NAME));
+            printResult("indexed.write", records, writeNanos, bytes);
+            printResult("indexed.lookup.channel", 100_000, timeLookups(false, records, 100_000), bytes);
+            printResult("indexed.lookup.mapped", 100_000, timeLookups(true, records, 100_000), bytes);
+
+            int threads = Runtime.getRuntime().availableProcessors();
+            SnapshotCodec[] codecs = {
+                SnapshotCodec.NONE, SnapshotCodec.deflate(1), SnapshotCodec.deflate(6), SnapshotCodec.deflate(9)
+            };
+            for (SnapshotCodec codec : codecs) {
+                start = System.nanoTime();
+                StudentSnapshot.write(generateStudents(records), SNAPSHOT_FILE_NAME, codec, threads);
+                writeNanos = System.nanoTime() - start;
+                bytes = Files.size(Paths.get(SNAPSHOT_FILE_NAME));
+
+                start = System.nanoTime();
+                read = 0;
+                try (StudentSnapshot.Reader reader = StudentSnapshot.open(SNAPSHOT_FILE_NAME)) {
+                    while (reader.hasNext()) {
+                        reader.next();
+                        read++;
+                    }
+                }
+                readNanos = System.nanoTime() - start;
+                printResult("snapshot.write." + codec.name(), records, writeNanos, bytes);
+                printResult("snapshot.read." + codec.name(), read, readNanos, bytes);
+            }
+
+            printRejectionCost("filter.reject.foreignClass", new HashMap<>(Map.of("key", "value")));
+            printRejectionCost("filter.reject.largeArray", new int[1_000_000]);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Benchmark failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Times 'lookups' random point lookups after an equal number of warm-up lookups.
+     */
+    private static long timeLookups(boolean mapped, int records, int lookups) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (StudentIndexedArchive.Reader reader = StudentIndexedArchive.open(INDEXED_FILE_NAME, mapped)) {
+            for (int i = 0; i < lookups; i++) {
+                reader.find(1 + random.nextInt(records));
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                if (reader.find(1 + random.nextInt(records)) == null) {
+                    throw new IOException("Lookup missed an ID that was written.");
+                }
+            }
+            return System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Compares loading a hostile payload without a filter against having
+     * StudentLoadFilter reject it.
+     */
+    private static void printRejectionCost(String name, Serializable payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(payload);
+        }
+        byte[] data = bytes.toByteArray();
+        int iterations = 200;
+
+        long start = 0;
+        for (int i = -iterations; i < iterations; i++) {
+            if (i == 0) start = System.nanoTime(); // first half is warm-up
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                in.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+        printResult(name + ".unfiltered", iterations, System.nanoTime() - start, data.length);
+
+        for (int i = -iterations; i < iterations; i++) {
+            if (i == 0) start = System.nanoTime();
+            try {
+                StudentLoadFilter.readStudent(new ByteArrayInputStream(data));
+                throw new IOException(name + " payload was not rejected.");
+            } catch (InvalidClassException expected) {
+                // rejected by the filter
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+        printResult(name + ".rejected", iterations, System.nanoTime() - start, data.length);
+    }
+
+    private static void printResult(String name, long records, long nanos, long bytes) {
+        System.out.printf("{\"benchmark\":\"%s\",\"records\":%d,\"nsPerRecord\":%.1f,\"bytes\":%d}%n",
+            name, records, (double) nanos / Math.max(1, records), bytes);
     }
 
     /**
@@ -75,13 +1029,15 @@ public class SerializationDemo {
     public static Student deserializeObject() {
         Student student = null;
         try (
-            // ObjectInputStream reads objects, wrapped around FileInputStream
-            FileInputStream fileIn = new FileInputStream(FILE_NAME);
-            ObjectInputStream in = new ObjectInputStream(fileIn)
+            // The stream is read through StudentLoadFilter, wrapped around FileInputStream
+            FileInputStream fileIn = new FileInputStream(FILE_NAME)
         ) {
-            // Read the object and cast it back to the Student type
-            student = (Student) in.readObject();
+            // Read the object; anything other than a small Student is rejected
+            student = StudentLoadFilter.readStudent(new BufferedInputStream(fileIn));
             
+        } catch (InvalidClassException | InvalidObjectException r) {
+            // Handle content rejected by the deserialization filter
+            System.err.println("Rejected during deserialization: " + r.getMessage());
         } catch (IOException i) {
             // Handle file not found or read error
             System.err.println("File I/O Error during deserialization: " + i.getMessage());
@@ -5,6 +5,12 @@ import java.util.Scanner;
 public class AutoboxingSumCalculator {
 
     public static void main(String[] args) {
+        // Run "AutoboxingSumCalculator bench [count]" to time calculateSum instead of reading input
+        if (args.length > 0 && args[0].equals("bench")) {
+            runBenchmark(args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000);
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
         
         // This list is parameterized with the wrapper class 'Integer', 
@@ -55,7 +61,7 @@ public class AutoboxingSumCalculator {
      * @param list The list of Integer objects.
      * @return The total sum.
      */
-    private static long calculateSum(List<Integer> list) {
+    static long calculateSum(List<Integer> list) {
         long sum = 0;
 
         // 3. Unboxing: In this enhanced for-loop, the 'Integer' object 
@@ -67,4 +73,23 @@ public class AutoboxingSumCalculator {
 
         return sum;
     }
+
+    /**
+     * Times calculateSum over 'count' boxed integers and prints one JSON line.
+     */
+    private static void runBenchmark(int count) {
+        List<Integer> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(i % 1000);
+        }
+        long nanos = 0;
+        long sum = 0;
+        for (int round = 0; round < 10; round++) { // the first rounds warm up the JIT
+            long start = System.nanoTime();
+            sum = calculateSum(list);
+            nanos = System.nanoTime() - start;
+        }
+        System.out.printf("{\"benchmark\":\"calculateSum\",\"count\":%d,\"msPerOp\":%.3f,\"sum\":%d}%n",
+            count, nanos / 1_000_000.0, sum);
+    }
 }
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compiles each javaexpN.java program on its own and runs its "bench" mode,
+# appending every JSON result line to bench-results/<timestamp>.jsonl.
+# Each line is tagged with the program and the git commit, so two result
+# files can be diffed to spot regressions.
+#
+# Usage:   ./run_benchmarks.sh [javaexpN ...]     (default: every program with a bench mode)
+# Options: JAVA_OPTS   extra JVM flags, e.g. "-Xmx4g"
+#          BENCH_SIZE  records/students/employees per benchmark (program default if unset)
+#          BENCH_CLASSPATH  extra classpath entries, e.g. the H2 JAR for the JDBC programs
+#          DB_MODE     passed to the JDBC programs as -Ddb.mode (default "embedded", so
+#                      they use a throwaway H2 file in the scratch directory)
+set -euo pipefail
+cd "$(dirname "$0")"
+
+if [ $# -gt 0 ]; then
+    programs=("$@")
+else
+    programs=()
+    for file in javaexp*.java; do
+        if grep -q '"bench"' "$file"; then
+            programs+=("${file%.java}")
+        fi
+    done
+fi
+
+commit=$(git rev-parse --short HEAD 2>/dev/null || echo unknown)
+mkdir -p bench-results
+out="bench-results/$(date +%Y%m%d-%H%M%S).jsonl"
+
+for program in "${programs[@]}"; do
+    source_file="$program.java"
+    # Each file declares its own public class (often "Main"), so it is compiled
+    # alone, under that class name, in a scratch directory.
+    class=$(sed -n 's/^public class \([A-Za-z0-9_]*\).*/\1/p' "$source_file" | head -n 1)
+    work=$(mktemp -d)
+    cp "$source_file" "$work/$class.java"
+    javac -d "$work" "$work/$class.java"
+
+    echo "== $program ($class)" >&2
+    # Run from the scratch directory so data files the benchmark writes are cleaned up with it.
+    # A program that fails (e.g. a JDBC one with no driver on the classpath) is reported and skipped.
+    # shellcheck disable=SC2086
+    if ! (cd "$work" && java ${JAVA_OPTS:-} -Ddb.mode="${DB_MODE:-embedded}" \
+            -cp ".${BENCH_CLASSPATH:+:$BENCH_CLASSPATH}" "$class" bench ${BENCH_SIZE:-}) \
+        | { grep '^{' || true; } \
+        | sed "s/^{/{\"program\":\"$program\",\"commit\":\"$commit\",/" \
+        | tee -a "$out"; then
+        echo "   $program bench failed, skipped" >&2
+    fi
+    rm -rf "$work"
+done
+
+echo "Results written to $out" >&2
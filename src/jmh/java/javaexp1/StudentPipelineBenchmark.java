@@ -0,0 +1,99 @@
+package javaexp1;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The "marks above 75%" query of javaexp1: the filter/sort/map stream pipeline
+ * against the columnar table, the top-k variants against sorted().limit(),
+ * and a threshold count against the marks index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentPipelineBenchmark {
+
+    private static final double THRESHOLD = 75.0;
+    private static final int K = 10;
+
+    @Param({"100000"})
+    public int students;
+
+    private List<Student> data;
+    private StudentTable table;
+    private MarksIndex index;
+
+    @Setup
+    public void setUp() {
+        data = Main.generateStudents(students, 42);
+        table = StudentTable.of(data);
+        index = MarksIndex.of(data);
+    }
+
+    @Benchmark
+    public List<String> streamFilterSortMap() {
+        return data.stream()
+            .filter(s -> s.getMarks() > THRESHOLD)
+            .sorted(Comparator.comparingDouble(Student::getMarks))
+            .map(Student::getName)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> columnarFilterSortProject() {
+        int[] rows = table.filterMarksAbove(THRESHOLD);
+        table.sortByMarks(rows);
+        return table.projectNames(rows);
+    }
+
+    @Benchmark
+    public List<String> topKSortedLimit() {
+        return data.stream()
+            .filter(s -> s.getMarks() > THRESHOLD)
+            .sorted(Comparator.comparingDouble(Student::getMarks).reversed())
+            .limit(K)
+            .map(Student::getName)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Student> topKCollector() {
+        return data.stream()
+            .filter(s -> s.getMarks() > THRESHOLD)
+            .collect(TopK.greatest(K, Comparator.comparingDouble(Student::getMarks)));
+    }
+
+    @Benchmark
+    public List<String> topKFused() {
+        return TopK.topStudentNames(data, THRESHOLD, K);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long countAboveStream() {
+        return data.stream().filter(s -> s.getMarks() > THRESHOLD).count();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int countAboveIndex() {
+        return index.countAbove(THRESHOLD);
+    }
+}
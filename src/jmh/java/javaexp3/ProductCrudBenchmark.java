@@ -0,0 +1,87 @@
+package javaexp3;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The JDBC CRUD paths of javaexp3, one transaction per operation as in the
+ * menu, against an in-memory H2 database in MySQL mode. Each fork starts with
+ * 'rows' seeded products. Deleting needs a row to delete, so it is measured
+ * together with the insert that creates it; subtract insertProduct to get
+ * the delete on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+    "-Ddb.mode=embedded", "-Ddb.url=jdbc:h2:mem:retail_db;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+@State(Scope.Benchmark)
+public class ProductCrudBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private int[] ids;
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        Main.seedProducts(rows, 42);
+        ids = new int[rows];
+        int count = 0;
+        try (Statement stmt = Main.connection().createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT ProductID FROM Product ORDER BY ProductID")) {
+            while (rs.next() && count < rows) {
+                ids[count++] = rs.getInt(1);
+            }
+        }
+        Main.connection().commit();
+        if (count != rows) {
+            throw new IllegalStateException("Seeded " + count + " of " + rows + " products.");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Main.closeConnection();
+    }
+
+    @Benchmark
+    public int insertProduct() throws SQLException {
+        return Main.insertProduct("JMH Product", 9.99, 1);
+    }
+
+    @Benchmark
+    public int scanAllProducts() throws SQLException {
+        return Main.scanAllProducts();
+    }
+
+    @Benchmark
+    public boolean updateProduct() throws SQLException {
+        int id = ids[next];
+        next = (next + 1) % ids.length;
+        return Main.updateProductRow(id, "JMH Product", 19.99, 2);
+    }
+
+    @Benchmark
+    public boolean insertThenDeleteProduct() throws SQLException {
+        int id = Main.insertProduct("JMH Product", 9.99, 1);
+        return Main.deleteProductRow(id);
+    }
+}
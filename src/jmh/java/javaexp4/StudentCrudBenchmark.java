@@ -0,0 +1,99 @@
+package javaexp4;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The StudentController CRUD paths of javaexp4 against an in-memory H2
+ * database in MySQL mode, with the write-behind and replicas off. Each fork
+ * starts with 'rows' seeded students. Deleting needs a row to delete, so it
+ * is measured together with the insert that creates it; subtract
+ * insertStudent to get the delete on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+    "-Ddb.mode=embedded", "-Ddb.url=jdbc:h2:mem:university_db;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+@State(Scope.Benchmark)
+public class StudentCrudBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private StudentController controller;
+    private int[] ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        controller = new StudentController();
+        if (!controller.connect()) {
+            throw new IllegalStateException("Could not connect to the benchmark database.");
+        }
+        controller.seedStudents(rows, 42);
+        List<Student> students = controller.getAllStudents();
+        if (students.size() != rows) {
+            throw new IllegalStateException("Seeded " + students.size() + " of " + rows + " students.");
+        }
+        ids = new int[students.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = students.get(i).getStudentID();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        controller.close();
+    }
+
+    @Benchmark
+    public int insertStudent() {
+        return controller.insertStudent(new Student("JMH Student", "Physics", 75.0));
+    }
+
+    @Benchmark
+    public Student getStudent() {
+        int id = ids[next];
+        next = (next + 1) % ids.length;
+        return controller.getStudent(id);
+    }
+
+    @Benchmark
+    public List<Student> getAllStudents() {
+        return controller.getAllStudents();
+    }
+
+    @Benchmark
+    public Map<String, List<Student>> topStudentsByDepartment() {
+        return controller.topStudentsByDepartment(10);
+    }
+
+    @Benchmark
+    public boolean updateStudent() {
+        int id = ids[next];
+        next = (next + 1) % ids.length;
+        return controller.updateStudent(id, "JMH Student", "Physics", 80.0);
+    }
+
+    @Benchmark
+    public boolean insertThenDeleteStudent() {
+        int id = controller.insertStudent(new Student("JMH Student", "Physics", 75.0));
+        return controller.deleteStudent(id);
+    }
+}
@@ -0,0 +1,102 @@
+package javaexp5;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The four comparator sorts of javaexp5, each against its radix-sort
+ * counterpart. Every invocation sorts a fresh copy of the same generated
+ * list, so the copy is part of both measurements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeSortBenchmark {
+
+    private static final Comparator<Employee> BY_NAME = (e1, e2) -> e1.getName().compareTo(e2.getName());
+    private static final Comparator<Employee> BY_AGE = Comparator.comparingInt(Employee::getAge);
+    private static final Comparator<Employee> BY_SALARY_DESC = Comparator.comparingDouble(Employee::getSalary).reversed();
+    private static final Comparator<Employee> BY_AGE_THEN_NAME =
+        Comparator.comparingInt(Employee::getAge).thenComparing(Employee::getName);
+
+    @Param({"100000"})
+    public int employees;
+
+    private List<Employee> source;
+
+    @Setup
+    public void setUp() {
+        source = Main.generateEmployees(employees, 42);
+    }
+
+    private List<Employee> sorted(Comparator<Employee> comparator) {
+        List<Employee> copy = new ArrayList<>(source);
+        copy.sort(comparator);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Employee> byNameListSort() {
+        return sorted(BY_NAME);
+    }
+
+    @Benchmark
+    public List<Employee> byNameRadix() {
+        List<Employee> copy = new ArrayList<>(source);
+        EmployeeRadixSort.byName(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Employee> byAgeListSort() {
+        return sorted(BY_AGE);
+    }
+
+    @Benchmark
+    public List<Employee> byAgeRadix() {
+        List<Employee> copy = new ArrayList<>(source);
+        EmployeeRadixSort.byAge(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Employee> bySalaryDescendingListSort() {
+        return sorted(BY_SALARY_DESC);
+    }
+
+    @Benchmark
+    public List<Employee> bySalaryDescendingRadix() {
+        List<Employee> copy = new ArrayList<>(source);
+        EmployeeRadixSort.bySalaryDescending(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Employee> byAgeThenNameListSort() {
+        return sorted(BY_AGE_THEN_NAME);
+    }
+
+    @Benchmark
+    public List<Employee> byAgeThenNameRadix() {
+        List<Employee> copy = new ArrayList<>(source);
+        EmployeeRadixSort.byAgeThenName(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,72 @@
+package javaexp6;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing the employee data file of javaexp6: Employee.fromFileString over
+ * lines already in memory, and readEmployeesFromFile over the whole file.
+ * The file is generated the same way as by "Main bench".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeFileBenchmark {
+
+    @Param({"100000"})
+    public int records;
+
+    private List<String> lines;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] designations = {"Engineer", "Manager", "Analyst", "Director", "Intern"};
+        lines = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            lines.add(new Main.Employee("Employee " + i, "E" + i, designations[i % designations.length],
+                40_000 + (i % 900) * 100.5).toFileString());
+        }
+        file = Files.createTempFile("employees-jmh", ".txt");
+        Files.write(file, lines, Charset.defaultCharset());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void fromFileString(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(Main.Employee.fromFileString(line));
+        }
+    }
+
+    @Benchmark
+    public List<Main.Employee> readEmployeesFromFile() {
+        return Main.readEmployeesFromFile(file.toString());
+    }
+}
@@ -0,0 +1,114 @@
+package javaexp8;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Student serialization in javaexp8. The single-object benchmarks use the
+ * same streams and filter as serializeObject/deserializeObject, but in memory,
+ * so the file system is not measured. The bulk benchmarks write and read
+ * 'students' records in the stream archive and the deflate snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10000"})
+    public int students;
+
+    private Student student;
+    private byte[] serialized;
+    private Path dir;
+    private String archiveFile;
+    private String snapshotFile;
+    private SnapshotCodec codec;
+
+    @Setup
+    public void setUp() throws IOException {
+        student = new Student(1, "Alice", 'A');
+        serialized = serialize();
+        codec = SnapshotCodec.deflate(1);
+        dir = Files.createTempDirectory("serialization-jmh");
+        archiveFile = dir.resolve("students.ser").toString();
+        snapshotFile = dir.resolve("students.snp").toString();
+        StudentStreamArchive.writeAll(SerializationDemo.generateStudents(students), archiveFile);
+        StudentSnapshot.write(SerializationDemo.generateStudents(students), snapshotFile, codec, 1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(archiveFile));
+        Files.deleteIfExists(Path.of(snapshotFile));
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public byte[] serializeStudent() throws IOException {
+        return serialize();
+    }
+
+    @Benchmark
+    public Student deserializeStudent() throws IOException, ClassNotFoundException {
+        return StudentLoadFilter.readStudent(new BufferedInputStream(new ByteArrayInputStream(serialized)));
+    }
+
+    @Benchmark
+    public long writeStreamArchive() throws IOException {
+        return StudentStreamArchive.writeAll(SerializationDemo.generateStudents(students), archiveFile);
+    }
+
+    @Benchmark
+    public void readStreamArchive(Blackhole blackhole) throws IOException {
+        try (StudentStreamArchive.Reader reader = StudentStreamArchive.open(archiveFile)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public long writeSnapshot() throws IOException {
+        return StudentSnapshot.write(SerializationDemo.generateStudents(students), snapshotFile, codec, 1);
+    }
+
+    @Benchmark
+    public void readSnapshot(Blackhole blackhole) throws IOException {
+        try (StudentSnapshot.Reader reader = StudentSnapshot.open(snapshotFile)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+
+    private byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(student);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,48 @@
+package javaexp9;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * calculateSum of javaexp9 over a list of boxed integers, filled the same way
+ * as by "AutoboxingSumCalculator bench".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculateSumBenchmark {
+
+    @Param({"1000000"})
+    public int count;
+
+    private List<Integer> list;
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(i % 1000);
+        }
+    }
+
+    @Benchmark
+    public long calculateSum() {
+        return AutoboxingSumCalculator.calculateSum(list);
+    }
+}
@@ -0,0 +1,134 @@
+#!/usr/bin/env bash
+# Measures startup of the interactive JDBC programs with and without an
+# AppCDS archive and with eager or lazy (-Ddb.lazyConnect) connection setup.
+# The JAR and the archive come from the build: "gradle cdsJavaexpN" packages
+# the program into build/cds/<program>.jar and dumps build/cds/<program>.jsa
+# from a training run that lists every record and exits. Every variant is
+# then started RUNS times from that JAR with the same scripted input. One
+# JSON line per variant goes to stdout and to
+# bench-results/startup-<timestamp>.jsonl:
+#   timeToMenuMs        JVM start until the menu is first printed
+#   timeToFirstQueryMs  JVM start until the first menu query has returned
+#   wallMs              process start to exit, as seen by this script
+# Averages cover successful runs only. A run fails if java exits non-zero,
+# never reaches the menu, or its first menu query fails (e.g. no JDBC driver
+# or database); failed runs are counted in "failedRuns" with the first
+# error in "error". The script stops at once if the build cannot produce the
+# archive (the training run fails), and exits with status 1 if any measured
+# run failed.
+#
+# Usage:   ./startup_benchmark.sh [javaexp3|javaexp4 ...]   (default: both)
+# Options: RUNS        runs per variant (default 10)
+#          JAVA_OPTS   extra JVM flags for every run
+#          BENCH_CLASSPATH  extra classpath entries, e.g. a MySQL driver JAR
+#                      (the build already puts H2 on the classpath)
+#          DB_MODE     passed as -Ddb.mode (default "embedded")
+#          GRADLE      Gradle command (default "gradle")
+set -euo pipefail
+cd "$(dirname "$0")"
+
+if [ $# -gt 0 ]; then
+    programs=("$@")
+else
+    programs=(javaexp3 javaexp4)
+fi
+runs=${RUNS:-10}
+gradle=${GRADLE:-gradle}
+
+commit=$(git rev-parse --short HEAD 2>/dev/null || echo unknown)
+mkdir -p bench-results
+out="bench-results/startup-$(date +%Y%m%d-%H%M%S).jsonl"
+failed_variants=0
+
+# First error of a run's stderr and the line after it (usually the message), escaped for a JSON string
+first_error() {
+    { grep -v '^{"startup"' "$1" | grep -m 1 -A 1 -iE 'error|exception|fatal|cannot' || tail -n 1 "$1"; } \
+        | head -n 2 | paste -sd ' ' - | sed 's/\\/\\\\/g; s/"/\\"/g' | tr -d '\r\t' || true
+}
+
+# True if a traced run reached the menu and its first query succeeded
+traced_ok() {
+    grep -q '^{"startup":"menu"' "$1" && grep -q '^{"startup":"firstQuery"' "$1" \
+        && ! grep -q '^{"startup":"queryFailed"' "$1"
+}
+
+for program in "${programs[@]}"; do
+    source_file="$program.java"
+    if ! grep -q 'startup.trace' "$source_file"; then
+        echo "== $program has no startup trace, skipped" >&2
+        continue
+    fi
+    # Scripted session: list every record, then exit
+    case "$program" in
+        javaexp3) input=$'2\n6\n' ;;
+        *)        input=$'2\n8\n' ;;
+    esac
+
+    class="$program.$(sed -n 's/^public class \([A-Za-z0-9_]*\).*/\1/p' "$source_file" | head -n 1)"
+
+    echo "== $program ($class)" >&2
+    # The training run uses the lazy path, which loads the menu classes before the JDBC ones,
+    # so the archive covers both. The build fails it unless the session reached the database:
+    # an archive from a run that never did would leave the JDBC classes out.
+    task="cds$(tr '[:lower:]' '[:upper:]' <<< "${program:0:1}")${program:1}"
+    if ! "$gradle" -q --console=plain "$task" -Pdb.mode="${DB_MODE:-embedded}" \
+            ${BENCH_CLASSPATH:+"-Pcds.classpath=$BENCH_CLASSPATH"} >&2; then
+        echo "   $program: the build could not produce the CDS archive ($gradle $task)" >&2
+        exit 1
+    fi
+    # Runs that use the archive must start with the classpath it was dumped with
+    classpath=$(cat "build/cds/$program.classpath")
+    archive="$PWD/build/cds/$program.jsa"
+    # Embedded database files of the measured runs go here
+    work=$(mktemp -d)
+
+    for variant in default lazy cds cds+lazy; do
+        flags="-Ddb.mode=${DB_MODE:-embedded} -Dstartup.trace=true"
+        case "$variant" in *lazy*) flags="$flags -Ddb.lazyConnect=true" ;; esac
+        case "$variant" in cds*) flags="$flags -XX:SharedArchiveFile=$archive -Xshare:auto" ;; esac
+        : > "$work/trace.txt"
+        failures=0
+        error=""
+        for ((i = 0; i < runs; i++)); do
+            start=$(date +%s%N)
+            status=0
+            # shellcheck disable=SC2086
+            (cd "$work" && printf '%s' "$input" | java ${JAVA_OPTS:-} $flags -cp "$classpath" "$class" \
+                > /dev/null 2> "$work/run.err") || status=$?
+            wall=$(( ($(date +%s%N) - start) / 1000000 ))
+            if [ "$status" -eq 0 ] && traced_ok "$work/run.err"; then
+                grep '^{"startup"' "$work/run.err" >> "$work/trace.txt"
+                echo "{\"startup\":\"wall\",\"ms\":$wall}" >> "$work/trace.txt"
+            else
+                failures=$((failures + 1))
+                if [ -z "$error" ]; then
+                    error="exit status $status: $(first_error "$work/run.err")"
+                fi
+            fi
+        done
+        if [ "$failures" -gt 0 ]; then
+            failed_variants=$((failed_variants + 1))
+            echo "   $program $variant: $failures of $runs runs failed, first: $error" >&2
+        fi
+        # The error goes through the environment: awk -v would undo its JSON escaping
+        ERROR="$error" awk -F'[":,}]+' -v program="$program" -v commit="$commit" -v variant="$variant" \
+            -v runs="$runs" -v failures="$failures" '
+            { sum[$3] += $5; n[$3]++ }
+            function avg(k) { return n[k] ? sprintf("%.1f", sum[k] / n[k]) : "null" }
+            END {
+                printf "{\"program\":\"%s\",\"commit\":\"%s\",\"variant\":\"%s\",\"runs\":%d,\"failedRuns\":%d,", program, commit, variant, runs, failures
+                printf "\"timeToMenuMs\":%s,\"timeToFirstQueryMs\":%s,\"wallMs\":%s", avg("menu"), avg("firstQuery"), avg("wall")
+                if (failures) {
+                    printf ",\"error\":\"%s\"", ENVIRON["ERROR"]
+                }
+                printf "}\n"
+            }' "$work/trace.txt" | tee -a "$out"
+    done
+    rm -rf "$work"
+done
+
+echo "Results written to $out" >&2
+if [ "$failed_variants" -gt 0 ]; then
+    echo "$failed_variants variant(s) had failed runs; their averages exclude them" >&2
+    exit 1
+fi